@@ -0,0 +1,73 @@
+package com.yueerba.benchmark.cache;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 批量操作基准测试
+ * <p>
+ * batchGetLocal全部命中Caffeine；batchGetRedis每次调用前清空本地缓存，全部从Redis按节点pipeline读取；
+ * batchPut包含本地写入、Redis写入和布隆过滤器置位。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBenchmark extends CacheBenchmarkState {
+
+    @Param({"10", "100", "1000"})
+    private int batchSize;
+
+    private List<String> keys;
+
+    private Map<String, BenchmarkValue> values;
+
+    @Override
+    protected void setUp() {
+        keys = new ArrayList<>(batchSize);
+        values = new HashMap<>(batchSize * 4 / 3 + 1);
+        for (int i = 0; i < batchSize; i++) {
+            String key = "batch-" + i;
+            keys.add(key);
+            values.put(key, BenchmarkValue.of(i));
+        }
+        cache.batchPut(values);
+    }
+
+    @Benchmark
+    public Map<String, Object> batchGetLocal() {
+        return cache.batchGet(keys);
+    }
+
+    @Benchmark
+    public Map<String, Object> batchGetRedis(ColdLocal coldLocal) {
+        return cache.batchGet(keys);
+    }
+
+    @Benchmark
+    public void batchPut() {
+        cache.batchPut(values);
+    }
+
+    /**
+     * Description: 每次调用前清空本地缓存
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @State(Scope.Thread)
+    public static class ColdLocal {
+
+        @Setup(Level.Invocation)
+        public void clearLocal(BatchBenchmark benchmark) {
+            benchmark.cache.clearLocal();
+        }
+    }
+}
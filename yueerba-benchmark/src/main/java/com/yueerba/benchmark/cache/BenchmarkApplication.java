@@ -0,0 +1,33 @@
+package com.yueerba.benchmark.cache;
+
+import cn.hutool.extra.spring.SpringUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Description: 基准测试使用的最小Spring上下文
+ * <p>
+ * 只扫描多级缓存所在的包，只导入Redis和Jackson自动配置，不启动Web容器和数据源。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@SpringBootConfiguration
+@EnableConfigurationProperties
+@ComponentScan("com.yueerba.framework.cache")
+@ImportAutoConfiguration({RedisAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import(SpringUtil.class)
+public class BenchmarkApplication {
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
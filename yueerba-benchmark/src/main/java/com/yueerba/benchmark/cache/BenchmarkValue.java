@@ -0,0 +1,67 @@
+package com.yueerba.benchmark.cache;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Description: 基准测试使用的缓存值，字段构成接近常见的业务实体
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Data
+public class BenchmarkValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String name;
+
+    private String status;
+
+    private BigDecimal price;
+
+    private LocalDateTime createTime;
+
+    private List<String> tags;
+
+    /**
+     * 创建一个测试值。
+     *
+     * @param id 编号
+     * @return 测试值
+     */
+    public static BenchmarkValue of(long id) {
+        BenchmarkValue value = new BenchmarkValue();
+        value.setId(id);
+        value.setName("benchmark-value-" + id);
+        value.setStatus(id % 2 == 0 ? "ENABLED" : "DISABLED");
+        value.setPrice(BigDecimal.valueOf(id * 100 + 99, 2));
+        value.setCreateTime(LocalDateTime.of(2026, 10, 16, 12, 0).plusSeconds(id));
+        List<String> tags = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tags.add("tag-" + (id + i) % 16);
+        }
+        value.setTags(tags);
+        return value;
+    }
+
+    /**
+     * 创建一组测试值，模拟列表类型的缓存值。
+     *
+     * @param count 数量
+     * @return 测试值列表
+     */
+    public static ArrayList<BenchmarkValue> listOf(int count) {
+        ArrayList<BenchmarkValue> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(of(i));
+        }
+        return values;
+    }
+}
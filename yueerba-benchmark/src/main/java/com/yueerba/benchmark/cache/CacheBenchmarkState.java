@@ -0,0 +1,89 @@
+package com.yueerba.benchmark.cache;
+
+import com.yueerba.framework.cache.manager.custom.RedisCaffeineCache;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * Description: 多级缓存基准测试的公共状态
+ * <p>
+ * 每轮测试在随机端口启动一个内嵌Redis，并启动只包含缓存组件的Spring上下文，测试可以离线运行。
+ * 运行方式：{@code mvn -pl yueerba-benchmark -am package -DskipTests && java -jar yueerba-benchmark/target/benchmarks.jar}，
+ * 可以追加JMH参数，例如 {@code -p batchSize=100} 或 {@code -prof gc}。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@State(Scope.Benchmark)
+public abstract class CacheBenchmarkState {
+
+    /**
+     * 基准测试使用的缓存名称
+     */
+    public static final String CACHE_NAME = "benchmark";
+
+    private RedisServer redisServer;
+
+    private ConfigurableApplicationContext context;
+
+    protected RedisCaffeineCache cache;
+
+    @Setup(Level.Trial)
+    public void startCache() throws IOException {
+        int port = freePort();
+        redisServer = RedisServer.builder()
+                .port(port)
+                .setting("bind 127.0.0.1")
+                .setting("maxmemory 512M")
+                .setting("save \"\"")
+                .build();
+        redisServer.start();
+
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.application.name=yueerba-benchmark",
+                        "spring.redis.host=127.0.0.1",
+                        "spring.redis.port=" + port,
+                        "spring.redis.redisson.threads=4",
+                        "spring.redis.redisson.netty-threads=8",
+                        // 单节点测试，不需要跨节点失效广播
+                        "cache.sync.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        cache = (RedisCaffeineCache) context.getBean(CacheManager.class).getCache(CACHE_NAME);
+        setUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopCache() {
+        if (context != null) {
+            context.close();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    /**
+     * 缓存创建后准备测试数据。
+     */
+    protected void setUp() {
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
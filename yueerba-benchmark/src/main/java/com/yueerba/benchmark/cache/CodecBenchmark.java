@@ -0,0 +1,115 @@
+package com.yueerba.benchmark.cache;
+
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import com.yueerba.framework.cache.serializer.CompressionCodec;
+import com.yueerba.framework.cache.serializer.CompressionRedisSerializer;
+import com.yueerba.framework.cache.serializer.GenericJackson2JsonCodec;
+import com.yueerba.framework.cache.serializer.RedisSerializerConfig;
+import com.yueerba.framework.cache.serializer.ValueCompressor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+import org.redisson.client.codec.BaseCodec;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 缓存值序列化和Redisson编解码基准测试，不需要Redis
+ * <p>
+ * 对比JSON和二进制格式、压缩与不压缩时的编解码耗时，序列化后的大小在每组参数开始时输出，
+ * 可配合 {@code -prof gc} 查看每次操作的分配量。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    private CacheProperties.SerializerType type;
+
+    /**
+     * 是否压缩（阈值256字节）
+     */
+    @Param({"false", "true"})
+    private boolean compressed;
+
+    /**
+     * 值中包含的实体数量，1为单个实体，其余为实体列表
+     */
+    @Param({"1", "50"})
+    private int entities;
+
+    private AnnotationConfigApplicationContext context;
+
+    private RedisSerializer<Object> serializer;
+
+    private BaseCodec codec;
+
+    private Object value;
+
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getSerializer().setType(type);
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(CacheProperties.class, () -> cacheProperties);
+        context.register(RedisSerializerConfig.class, GenericJackson2JsonCodec.class);
+        context.refresh();
+
+        serializer = context.getBean("redisValueSerializer", RedisSerializer.class);
+        codec = context.getBean(GenericJackson2JsonCodec.class);
+        if (compressed) {
+            ValueCompressor compressor = new ValueCompressor("benchmark", 256, 1, new SimpleMeterRegistry());
+            serializer = new CompressionRedisSerializer(serializer, compressor);
+            codec = new CompressionCodec(codec, compressor);
+        }
+
+        value = entities == 1 ? BenchmarkValue.of(1) : BenchmarkValue.listOf(entities);
+        serialized = serializer.serialize(value);
+        System.out.printf("%n序列化格式: %s，压缩: %s，实体数: %d，序列化大小: %d 字节%n",
+                type, compressed, entities, serialized.length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+
+    @Benchmark
+    public int codecEncode() throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(value);
+        try {
+            return buf.readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Benchmark
+    public Object codecDecode() throws IOException {
+        return codec.getValueDecoder().decode(Unpooled.wrappedBuffer(serialized), null);
+    }
+}
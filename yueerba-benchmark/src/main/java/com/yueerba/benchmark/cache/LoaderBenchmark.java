@@ -0,0 +1,66 @@
+package com.yueerba.benchmark.cache;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Description: 带加载器的查询在多线程竞争下的基准测试
+ * <p>
+ * hotKey为所有线程读取同一个已缓存的key；miss每次使用新的key，经过单飞合并、布隆过滤器、分布式锁、
+ * 加载器和写回Redis的完整回源路径；sharedMiss让多个线程同时读取同一个未缓存的key，测量单飞合并和锁等待的效果。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoaderBenchmark extends CacheBenchmarkState {
+
+    /**
+     * 模拟加载器回源的CPU开销（Blackhole令牌数）
+     */
+    @Param({"1000"})
+    private long loaderCost;
+
+    /**
+     * sharedMiss中每个key被连续调用的次数，调用分布在各线程上
+     */
+    @Param({"8"})
+    private int callsPerKey;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Callable<BenchmarkValue> loader;
+
+    @Override
+    protected void setUp() {
+        loader = () -> {
+            Blackhole.consumeCPU(loaderCost);
+            return BenchmarkValue.of(1);
+        };
+        cache.put("hot", BenchmarkValue.of(0));
+    }
+
+    @Benchmark
+    public BenchmarkValue hotKey() {
+        return cache.get("hot", loader);
+    }
+
+    @Benchmark
+    public BenchmarkValue miss() {
+        return cache.get("miss-" + sequence.incrementAndGet(), loader);
+    }
+
+    @Benchmark
+    public BenchmarkValue sharedMiss() {
+        // 连续callsPerKey次调用使用同一个新key，第一次调用回源期间其余线程在单飞合并或分布式锁上等待
+        return cache.get("shared-" + sequence.incrementAndGet() / callsPerKey, loader);
+    }
+}
@@ -0,0 +1,56 @@
+package com.yueerba.benchmark.cache;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.Cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 单个key查询基准测试
+ * <p>
+ * l1Hit为Caffeine命中；l2Hit每次先失效本地条目，测量Redis读取、反序列化和回填Caffeine的完整开销。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark extends CacheBenchmarkState {
+
+    @Param({"10000"})
+    private int keyCount;
+
+    private String[] keys;
+
+    @Override
+    protected void setUp() {
+        keys = new String[keyCount];
+        Map<String, BenchmarkValue> values = new HashMap<>(keyCount * 4 / 3 + 1);
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "lookup-" + i;
+            values.put(keys[i], BenchmarkValue.of(i));
+        }
+        cache.batchPut(values);
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper l1Hit() {
+        return cache.get(nextKey());
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper l2Hit() {
+        String key = nextKey();
+        cache.evictLocal(key);
+        return cache.get(key);
+    }
+
+    private String nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keyCount)];
+    }
+}
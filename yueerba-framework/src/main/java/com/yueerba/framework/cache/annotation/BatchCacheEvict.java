@@ -1,4 +1,36 @@
 package com.yueerba.framework.cache.annotation;
 
-public class BatchCacheEvict {
+import java.lang.annotation.*;
+
+/**
+ * Description: 批量缓存删除注解
+ * <p>
+ * 标注在以一组id为参数的方法上，按id批量删除缓存。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BatchCacheEvict {
+
+    /**
+     * 缓存名称
+     */
+    String cacheName();
+
+    /**
+     * id集合参数的名称，为空时使用第一个{@link java.util.Collection}类型的参数
+     */
+    String ids() default "";
+
+    /**
+     * 是否清空整个缓存，默认false
+     */
+    boolean allEntries() default false;
+
+    /**
+     * 是否在目标方法执行前删除，默认false，即目标方法正常返回后删除
+     */
+    boolean beforeInvocation() default false;
 }
@@ -1,4 +1,26 @@
 package com.yueerba.framework.cache.annotation;
 
-public class BatchCachePut {
+import java.lang.annotation.*;
+
+/**
+ * Description: 批量缓存更新注解
+ * <p>
+ * 标注在返回{@link java.util.List}或{@link java.util.Map}的方法上，目标方法执行后将返回的结果批量写入缓存。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BatchCachePut {
+
+    /**
+     * 缓存名称
+     */
+    String cacheName();
+
+    /**
+     * 返回值为List时，从元素中取出id的SpEL表达式，以元素为根对象，默认取id属性；返回值为Map时使用Map的key
+     */
+    String resultId() default "id";
 }
@@ -1,4 +1,38 @@
 package com.yueerba.framework.cache.annotation;
 
-public class BatchCacheable {
+import java.lang.annotation.*;
+
+/**
+ * Description: 批量缓存查询注解
+ * <p>
+ * 标注在以一组id为参数、返回{@link java.util.List}或{@link java.util.Map}的方法上。
+ * 调用时先批量查询缓存，只用未命中的id调用目标方法，再将结果批量写回缓存；
+ * 目标方法没有返回的id写入空值标记，防止缓存穿透。缓存key为id的{@code toString()}。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BatchCacheable {
+
+    /**
+     * 缓存名称
+     */
+    String cacheName();
+
+    /**
+     * id集合参数的名称，为空时使用第一个{@link java.util.Collection}类型的参数
+     */
+    String ids() default "";
+
+    /**
+     * 返回值为List时，从元素中取出id的SpEL表达式，以元素为根对象，默认取id属性；返回值为Map时使用Map的key
+     */
+    String resultId() default "id";
+
+    /**
+     * 是否为目标方法没有返回的id写入空值标记，默认true
+     */
+    boolean cacheNull() default true;
 }
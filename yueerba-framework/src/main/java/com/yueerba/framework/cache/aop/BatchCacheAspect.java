@@ -1,4 +1,274 @@
 package com.yueerba.framework.cache.aop;
 
+import com.yueerba.framework.cache.annotation.BatchCacheEvict;
+import com.yueerba.framework.cache.annotation.BatchCachePut;
+import com.yueerba.framework.cache.annotation.BatchCacheable;
+import com.yueerba.framework.cache.batch.BatchOperationInterface;
+import com.yueerba.framework.cache.utils.CacheKeyGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.expression.Expression;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.*;
+
+/**
+ * Description: 批量缓存注解切面
+ * <p>
+ * 处理{@link BatchCacheable}、{@link BatchCachePut}和{@link BatchCacheEvict}，
+ * 通过{@link BatchOperationInterface}一次完成多个key的查询、写入和删除，缓存key为id的{@code toString()}。
+ * 本地缓存统一以key的字符串形式存放，@Cacheable以Long等id本身为key缓存的条目与这里的字符串key是同一个条目。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Aspect
+@Component
 public class BatchCacheAspect {
+
+    @Resource
+    private CacheManager cacheManager;
+
+    @Resource
+    private CacheKeyGenerator cacheKeyGenerator;
+
+    /**
+     * 批量查询：缓存命中的id（包括缓存了空值的id）不再调用目标方法，只用未命中的id调用一次目标方法。
+     */
+    @Around("@annotation(batchCacheable)")
+    public Object batchCacheable(ProceedingJoinPoint joinPoint, BatchCacheable batchCacheable) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Class<?> returnType = signature.getReturnType();
+        int idsIndex = idsIndex(signature, batchCacheable.ids());
+        Object[] args = joinPoint.getArgs();
+        if (idsIndex < 0 || args[idsIndex] == null || !isBatchResult(returnType)) {
+            log.warn("方法不满足批量缓存条件，直接调用，方法: {}", signature.toShortString());
+            return joinPoint.proceed();
+        }
+
+        // 缓存key到原始id的映射，保持参数中的顺序
+        Collection<?> ids = (Collection<?>) args[idsIndex];
+        Map<String, Object> idsByKey = new LinkedHashMap<>(ids.size() * 4 / 3 + 1);
+        for (Object id : ids) {
+            if (id != null) {
+                idsByKey.putIfAbsent(String.valueOf(id), id);
+            }
+        }
+        if (idsByKey.isEmpty()) {
+            return joinPoint.proceed();
+        }
+
+        BatchOperationInterface cache = batchCache(batchCacheable.cacheName());
+        Map<String, Object> cached = cache.batchLookup(new ArrayList<>(idsByKey.keySet()));
+
+        List<Object> missedIds = new ArrayList<>(idsByKey.size() - cached.size());
+        idsByKey.forEach((key, id) -> {
+            if (!cached.containsKey(key)) {
+                missedIds.add(id);
+            }
+        });
+        log.debug("批量缓存查询，缓存: {}，命中{}个，未命中{}个", batchCacheable.cacheName(), cached.size(), missedIds.size());
+
+        Map<Object, Object> loaded = Collections.emptyMap();
+        if (!missedIds.isEmpty()) {
+            Collection<Object> missedArg = toArgument(signature.getParameterTypes()[idsIndex], missedIds);
+            if (missedArg != null) {
+                args[idsIndex] = missedArg;
+            } else {
+                // 参数类型无法构造出只包含未命中id的集合时，使用全部id调用
+                log.debug("无法构造未命中id参数，使用全部id调用，方法: {}", signature.toShortString());
+            }
+            loaded = toMap(joinPoint.proceed(args), resultId(signature, batchCacheable.resultId()));
+
+            Map<String, Object> toCache = new HashMap<>(missedIds.size() * 4 / 3 + 1);
+            loaded.forEach((id, value) -> toCache.put(String.valueOf(id), value));
+            if (batchCacheable.cacheNull()) {
+                for (Object id : missedIds) {
+                    toCache.putIfAbsent(String.valueOf(id), null);
+                }
+            } else {
+                toCache.values().removeIf(Objects::isNull);
+            }
+            if (!toCache.isEmpty()) {
+                cache.batchPut(toCache);
+            }
+        }
+
+        return merge(returnType, idsByKey, cached, loaded);
+    }
+
+    /**
+     * 批量更新：目标方法执行后将结果写入缓存。
+     */
+    @Around("@annotation(batchCachePut)")
+    public Object batchCachePut(ProceedingJoinPoint joinPoint, BatchCachePut batchCachePut) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (result == null) {
+            return null;
+        }
+
+        Map<String, Object> toCache = new HashMap<>();
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        toMap(result, resultId(signature, batchCachePut.resultId())).forEach((id, value) -> {
+            if (value != null) {
+                toCache.put(String.valueOf(id), value);
+            }
+        });
+        if (!toCache.isEmpty()) {
+            batchCache(batchCachePut.cacheName()).batchPut(toCache);
+        }
+        return result;
+    }
+
+    /**
+     * 批量删除：按参数中的id删除缓存，或清空整个缓存。
+     */
+    @Around("@annotation(batchCacheEvict)")
+    public Object batchCacheEvict(ProceedingJoinPoint joinPoint, BatchCacheEvict batchCacheEvict) throws Throwable {
+        if (batchCacheEvict.beforeInvocation()) {
+            evict(joinPoint, batchCacheEvict);
+            return joinPoint.proceed();
+        }
+        Object result = joinPoint.proceed();
+        evict(joinPoint, batchCacheEvict);
+        return result;
+    }
+
+    private void evict(ProceedingJoinPoint joinPoint, BatchCacheEvict batchCacheEvict) {
+        Cache cache = cacheManager.getCache(batchCacheEvict.cacheName());
+        if (batchCacheEvict.allEntries()) {
+            cache.clear();
+            return;
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        int idsIndex = idsIndex(signature, batchCacheEvict.ids());
+        Object ids = idsIndex < 0 ? null : joinPoint.getArgs()[idsIndex];
+        if (ids == null) {
+            log.warn("未找到需要删除的id参数，方法: {}", signature.toShortString());
+            return;
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (Object id : (Collection<?>) ids) {
+            if (id != null) {
+                keys.add(String.valueOf(id));
+            }
+        }
+        if (!keys.isEmpty()) {
+            batchCache(batchCacheEvict.cacheName()).batchEvict(keys);
+        }
+    }
+
+    /**
+     * 获取支持批量操作的缓存。
+     */
+    private BatchOperationInterface batchCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (!(cache instanceof BatchOperationInterface)) {
+            throw new IllegalStateException("缓存不支持批量操作: " + cacheName);
+        }
+        return (BatchOperationInterface) cache;
+    }
+
+    /**
+     * 查找id集合参数的位置。
+     *
+     * @param signature 方法签名
+     * @param name      参数名，为空时取第一个集合类型的参数
+     * @return 参数位置，不存在时返回-1
+     */
+    private int idsIndex(MethodSignature signature, String name) {
+        Class<?>[] parameterTypes = signature.getParameterTypes();
+        String[] parameterNames = signature.getParameterNames();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!Collection.class.isAssignableFrom(parameterTypes[i])) {
+                continue;
+            }
+            if (name.isEmpty() || (parameterNames != null && name.equals(parameterNames[i]))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isBatchResult(Class<?> returnType) {
+        return returnType.isAssignableFrom(ArrayList.class) || returnType.isAssignableFrom(LinkedHashMap.class);
+    }
+
+    /**
+     * 按参数类型构造只包含未命中id的集合，无法构造时返回null。
+     */
+    private Collection<Object> toArgument(Class<?> parameterType, List<Object> ids) {
+        if (parameterType.isAssignableFrom(ArrayList.class)) {
+            return ids;
+        }
+        if (parameterType.isAssignableFrom(LinkedHashSet.class)) {
+            return new LinkedHashSet<>(ids);
+        }
+        return null;
+    }
+
+    /**
+     * 获取方法上预先解析的结果id表达式。
+     */
+    private Expression resultId(MethodSignature signature, String resultId) {
+        return cacheKeyGenerator.expression(signature.getMethod(), resultId);
+    }
+
+    /**
+     * 将目标方法的返回值转换为 id -> 值 的映射。
+     */
+    private Map<Object, Object> toMap(Object result, Expression resultId) {
+        if (result == null) {
+            return Collections.emptyMap();
+        }
+        if (result instanceof Map) {
+            return new LinkedHashMap<>((Map<?, ?>) result);
+        }
+
+        Collection<?> elements = (Collection<?>) result;
+        Map<Object, Object> map = new LinkedHashMap<>(elements.size() * 4 / 3 + 1);
+        for (Object element : elements) {
+            if (element == null) {
+                continue;
+            }
+            Object id = resultId.getValue(element);
+            if (id != null) {
+                map.put(id, element);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 按参数中id的顺序合并缓存命中和新加载的结果，值为null的id不出现在结果中。
+     */
+    private Object merge(Class<?> returnType, Map<String, Object> idsByKey,
+                         Map<String, Object> cached, Map<Object, Object> loaded) {
+        Map<String, Object> loadedByKey = new HashMap<>(loaded.size() * 4 / 3 + 1);
+        loaded.forEach((id, value) -> loadedByKey.put(String.valueOf(id), value));
+
+        boolean asMap = !returnType.isAssignableFrom(ArrayList.class);
+        Map<Object, Object> map = asMap ? new LinkedHashMap<>(idsByKey.size() * 4 / 3 + 1) : null;
+        List<Object> list = asMap ? null : new ArrayList<>(idsByKey.size());
+        idsByKey.forEach((key, id) -> {
+            Object value = cached.containsKey(key) ? cached.get(key) : loadedByKey.get(key);
+            if (value == null) {
+                return;
+            }
+            if (asMap) {
+                map.put(id, value);
+            } else {
+                list.add(value);
+            }
+        });
+        return asMap ? map : list;
+    }
 }
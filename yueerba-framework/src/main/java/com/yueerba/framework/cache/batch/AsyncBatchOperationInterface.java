@@ -0,0 +1,49 @@
+package com.yueerba.framework.cache.batch;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Description: 多级缓存异步操作接口
+ * <p>
+ * 本地缓存命中时返回已完成的Future；需要访问Redis时基于Redisson异步API组合结果，
+ * 调用线程不会被阻塞，可在一次请求内并发发起多个缓存查询。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public interface AsyncBatchOperationInterface {
+    /**
+     * 异步查询缓存
+     *
+     * @param key 原始key
+     * @return 缓存的值，不存在时为null
+     */
+    <V> CompletableFuture<V> getAsync(Object key);
+
+    /**
+     * 异步批量查询缓存
+     *
+     * @param keys 原始keys
+     * @return 缓存的值，键为原始key
+     */
+    <V> CompletableFuture<Map<String, V>> batchGetAsync(List<String> keys);
+
+    /**
+     * 异步设置缓存，本地缓存立即更新，Future在Redis写入完成后完成
+     *
+     * @param key   原始key
+     * @param value 缓存值
+     * @return 写入结果
+     */
+    CompletableFuture<Void> putAsync(Object key, Object value);
+
+    /**
+     * 异步批量移除缓存，本地缓存立即移除，Future在Redis删除完成后完成
+     *
+     * @param keys 原始keys
+     * @return 删除结果
+     */
+    CompletableFuture<Void> batchEvictAsync(Collection<String> keys);
+}
@@ -13,24 +13,32 @@ public interface BatchOperationInterface {
     /**
      * 批量查询缓存
      *
-     * @param cacheKeys 缓存的keys
-     * @return 缓存的值
+     * @param keys 原始keys（内部通过{@link #cacheKey(Object)}转换为缓存key）
+     * @return 缓存的值，键为原始key
      */
-    <V> Map<String, V> batchGet(List<String> cacheKeys);
+    <V> Map<String, V> batchGet(List<String> keys);
+
+    /**
+     * 批量查询缓存，用于区分“缓存了空值”和“未命中”
+     *
+     * @param keys 原始keys
+     * @return 命中的缓存值，键为原始key；缓存了空值的key对应的值为null，未命中的key不包含在结果中
+     */
+    <V> Map<String, V> batchLookup(List<String> keys);
 
     /**
      * 批量设置缓存
      *
-     * @param map 批量缓存
+     * @param map 批量缓存，键为原始key；值为null时写入空值标记
      */
     <V> void batchPut(Map<String, V> map);
 
     /**
      * 批量移除缓存
      *
-     * @param cacheKeys 缓存的keys
+     * @param keys 原始keys
      */
-    void batchEvict(Collection<String> cacheKeys);
+    void batchEvict(Collection<String> keys);
 
     /**
      * 转换成缓存Key
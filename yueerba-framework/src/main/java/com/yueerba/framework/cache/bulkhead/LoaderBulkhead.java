@@ -0,0 +1,207 @@
+package com.yueerba.framework.cache.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Description: 单个缓存的加载器线程池
+ * <p>
+ * 加载器在缓存独立的线程池中执行，调用线程最多等待timeout：
+ * <ul>
+ *     <li>等待队列是容量为队列上限的有界队列，队列已满时由线程池的拒绝策略抛出{@link RejectedExecutionException}；
+ *     超时后中断加载器并抛出{@link TimeoutException}，调用方可以退回陈旧值；</li>
+ *     <li>线程数、队列上限和超时时间都可以在运行时调整，有界队列的容量不能修改，调整队列上限时换用新的线程池，
+ *     旧线程池执行完已提交的加载后关闭；</li>
+ *     <li>一个缓存的下游变慢只会占满自己的线程池，不会占用其它缓存和Web容器的工作线程。</li>
+ * </ul>
+ * 加载器不在调用线程上执行，依赖ThreadLocal的上下文（事务、登录信息等）需要由加载器自行传递。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class LoaderBulkhead {
+
+    private final String cacheName;
+
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    private volatile ThreadPoolExecutor executor;
+
+    private volatile int queueSize;
+
+    private volatile long timeout;
+
+    private final Counter rejected;
+
+    private final Counter timeouts;
+
+    LoaderBulkhead(String cacheName, int threads, int queueSize, long timeout, MeterRegistry meterRegistry) {
+        this.cacheName = cacheName;
+        this.queueSize = queueSize;
+        this.timeout = timeout;
+        this.executor = newExecutor(threads, queueSize);
+
+        gauge("cache.loader.active", "正在执行的加载数", ThreadPoolExecutor::getActiveCount, meterRegistry);
+        gauge("cache.loader.queued", "等待执行的加载数", e -> e.getQueue().size(), meterRegistry);
+        gauge("cache.loader.threads", "加载线程池的最大线程数", ThreadPoolExecutor::getMaximumPoolSize, meterRegistry);
+        Gauge.builder("cache.loader.queue.limit", this, bulkhead -> bulkhead.queueSize)
+                .description("加载等待队列的长度上限")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.rejected = counter("cache.loader.rejected", "队列已满被拒绝的加载数", meterRegistry);
+        this.timeouts = counter("cache.loader.timeouts", "超时被中断的加载数", meterRegistry);
+    }
+
+    /**
+     * 在线程池中执行加载器并等待结果。
+     *
+     * @param loader 加载器
+     * @param <T>    值类型
+     * @return 加载的值
+     * @throws RejectedExecutionException 等待队列已满
+     * @throws TimeoutException           加载超时，加载器已被中断
+     * @throws Exception                  加载器抛出的异常
+     */
+    public <T> T call(Callable<T> loader) throws Exception {
+        Future<T> future = submit(loader);
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.increment();
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    /**
+     * 提交加载器，队列已满时由线程池拒绝。
+     *
+     * @param loader 加载器
+     * @param <T>    值类型
+     * @return 加载结果
+     * @throws RejectedExecutionException 等待队列已满
+     */
+    private <T> Future<T> submit(Callable<T> loader) {
+        ThreadPoolExecutor current = executor;
+        try {
+            return current.submit(loader);
+        } catch (RejectedExecutionException e) {
+            // 调整队列上限时旧线程池已关闭，改为提交到新线程池
+            if (current != executor) {
+                return submit(loader);
+            }
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * 调整线程池，参数为null时保持不变。
+     *
+     * @param threads   线程数
+     * @param queueSize 等待队列长度上限
+     * @param timeout   加载超时时间（毫秒）
+     */
+    public synchronized void resize(Integer threads, Integer queueSize, Long timeout) {
+        if (threads != null && threads > 0) {
+            // 先调整不会违反core <= max约束的一边
+            if (threads > executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(threads);
+                executor.setCorePoolSize(threads);
+            } else {
+                executor.setCorePoolSize(threads);
+                executor.setMaximumPoolSize(threads);
+            }
+        }
+        if (queueSize != null && queueSize >= 0 && queueSize != this.queueSize) {
+            ThreadPoolExecutor previous = executor;
+            this.executor = newExecutor(previous.getMaximumPoolSize(), queueSize);
+            this.queueSize = queueSize;
+            previous.shutdown();
+        }
+        if (timeout != null && timeout > 0) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * 当前线程池状态。
+     *
+     * @return 线程数、队列上限、超时时间和使用情况
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("threads", executor.getMaximumPoolSize());
+        status.put("queueSize", queueSize);
+        status.put("timeout", timeout);
+        status.put("active", executor.getActiveCount());
+        status.put("queued", executor.getQueue().size());
+        status.put("completed", executor.getCompletedTaskCount());
+        status.put("rejected", (long) rejected.count());
+        status.put("timeouts", (long) timeouts.count());
+        return status;
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 创建线程池，队列上限为0时不排队，没有空闲线程即拒绝。
+     *
+     * @param threads   线程数
+     * @param queueSize 等待队列长度上限
+     * @return 线程池
+     */
+    private ThreadPoolExecutor newExecutor(int threads, int queueSize) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "cache-loader-" + cacheName + "-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void gauge(String name, String description, ToDoubleFunction<ThreadPoolExecutor> value,
+                       MeterRegistry meterRegistry) {
+        Gauge.builder(name, this, bulkhead -> value.applyAsDouble(bulkhead.executor))
+                .description(description)
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String name, String description, MeterRegistry meterRegistry) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+}
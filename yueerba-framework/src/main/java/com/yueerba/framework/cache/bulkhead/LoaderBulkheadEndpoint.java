@@ -0,0 +1,43 @@
+package com.yueerba.framework.cache.bulkhead;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.Map;
+
+/**
+ * Description: 加载器线程池端点
+ * <p>
+ * GET /actuator/cacheloaders 返回所有缓存的加载线程池状态，GET /actuator/cacheloaders/{cacheName} 返回指定缓存的状态；
+ * POST /actuator/cacheloaders/{cacheName} 调整线程数（threads）、队列上限（queueSize）和超时时间（timeout，毫秒），未传的参数保持不变。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Component
+@Endpoint(id = "cacheloaders")
+public class LoaderBulkheadEndpoint {
+
+    @Resource
+    private LoaderBulkheadManager loaderBulkheadManager;
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> loaders() {
+        return loaderBulkheadManager.status();
+    }
+
+    @ReadOperation
+    public Map<String, Object> loader(@Selector String cacheName) {
+        return loaderBulkheadManager.status(cacheName);
+    }
+
+    @WriteOperation
+    public Map<String, Object> resize(@Selector String cacheName, @Nullable Integer threads,
+                                      @Nullable Integer queueSize, @Nullable Long timeout) {
+        return loaderBulkheadManager.resize(cacheName, threads, queueSize, timeout);
+    }
+}
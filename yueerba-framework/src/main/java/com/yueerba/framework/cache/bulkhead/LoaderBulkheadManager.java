@@ -0,0 +1,102 @@
+package com.yueerba.framework.cache.bulkhead;
+
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Description: 加载器线程池管理
+ * <p>
+ * 为cache.loader-bulkhead.threads中配置了线程数的缓存创建{@link LoaderBulkhead}，
+ * 运行时通过{@link LoaderBulkheadEndpoint}查看和调整各缓存的线程池。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
+public class LoaderBulkheadManager {
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 各缓存的加载器线程池，key为缓存名称
+     */
+    private final Map<String, LoaderBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * 为缓存创建加载器线程池。
+     *
+     * @param cacheName 缓存名称
+     * @return 加载器线程池，未配置线程数时返回null
+     */
+    public LoaderBulkhead create(String cacheName) {
+        CacheProperties.LoaderBulkhead config = cacheProperties.getLoaderBulkhead();
+        Integer threads = config.getThreads().get(cacheName);
+        if (threads == null || threads <= 0) {
+            return null;
+        }
+        return bulkheads.computeIfAbsent(cacheName, name -> {
+            int queueSize = config.getQueueSizes().getOrDefault(name, config.getQueueSize());
+            long timeout = config.getTimeouts().getOrDefault(name, config.getTimeout());
+            log.info("缓存: {}使用独立加载线程池，线程数: {}，队列上限: {}，超时时间: {}ms", name, threads, queueSize, timeout);
+            return new LoaderBulkhead(name, threads, queueSize, timeout, meterRegistry);
+        });
+    }
+
+    /**
+     * 调整缓存的加载器线程池，参数为null时保持不变。
+     *
+     * @param cacheName 缓存名称
+     * @param threads   线程数
+     * @param queueSize 等待队列长度上限
+     * @param timeout   加载超时时间（毫秒）
+     * @return 调整后的状态，缓存没有加载器线程池时返回null
+     */
+    public Map<String, Object> resize(String cacheName, Integer threads, Integer queueSize, Long timeout) {
+        LoaderBulkhead bulkhead = bulkheads.get(cacheName);
+        if (bulkhead == null) {
+            return null;
+        }
+        bulkhead.resize(threads, queueSize, timeout);
+        log.info("调整缓存: {}的加载线程池，线程数: {}，队列上限: {}，超时时间: {}ms", cacheName, threads, queueSize, timeout);
+        return bulkhead.status();
+    }
+
+    /**
+     * 所有加载器线程池的状态。
+     *
+     * @return 缓存名称到状态的映射
+     */
+    public Map<String, Map<String, Object>> status() {
+        Map<String, Map<String, Object>> status = new LinkedHashMap<>();
+        bulkheads.forEach((cacheName, bulkhead) -> status.put(cacheName, bulkhead.status()));
+        return status;
+    }
+
+    /**
+     * 单个缓存的加载器线程池状态。
+     *
+     * @param cacheName 缓存名称
+     * @return 状态，缓存没有加载器线程池时返回null
+     */
+    public Map<String, Object> status(String cacheName) {
+        LoaderBulkhead bulkhead = bulkheads.get(cacheName);
+        return bulkhead == null ? null : bulkhead.status();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        bulkheads.values().forEach(LoaderBulkhead::shutdown);
+    }
+}
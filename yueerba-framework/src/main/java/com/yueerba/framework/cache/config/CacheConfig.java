@@ -0,0 +1,53 @@
+package com.yueerba.framework.cache.config;
+
+import com.yueerba.framework.cache.utils.CacheKeyGenerator;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import javax.annotation.Resource;
+
+/**
+ * Description: 缓存配置，开启Spring Cache注解并提供二级缓存使用的RedisTemplate
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig extends CachingConfigurerSupport {
+
+    @Resource
+    private CacheKeyGenerator cacheKeyGenerator;
+
+    /**
+     * 未指定key和keyGenerator的缓存注解使用{@link CacheKeyGenerator}生成key
+     */
+    @Override
+    public KeyGenerator keyGenerator() {
+        return cacheKeyGenerator;
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                       RedisSerializer<Object> redisValueSerializer) {
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+
+        // key使用字符串序列化，便于在Redis中查看和按前缀扫描
+        StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
+        redisTemplate.setKeySerializer(stringRedisSerializer);
+        redisTemplate.setHashKeySerializer(stringRedisSerializer);
+
+        // value使用与Redisson相同的序列化器（JSON或二进制），保留类型信息
+        redisTemplate.setValueSerializer(redisValueSerializer);
+        redisTemplate.setHashValueSerializer(redisValueSerializer);
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+}
@@ -6,7 +6,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Description: 缓存总配置
@@ -38,7 +40,7 @@ public class CacheProperties {
     private long cacheAsyExpelDelay = 1;
 
     /**
-     * 每个cacheName的过期时间，单位毫秒，优先级比defaultExpiration高
+     * 每个cacheName在Redis中的过期时间，单位毫秒，优先级比随机过期时间高
      */
     private Map<String, Long> redisExpires = new HashMap<>();
 
@@ -51,4 +53,526 @@ public class CacheProperties {
      * 结束随机过期时间（默认30天）
      */
     private long timeOutEnd = 30 * 24 * 60 * 60;
+
+    /**
+     * 本地单飞加载表的最大条目数（默认10000），超出后新的key不再合并加载
+     */
+    private int singleFlightMaxSize = 10000;
+
+    /**
+     * 开启逻辑过期（stale-while-revalidate）模式的缓存及其最大陈旧时长，单位毫秒。
+     * 逻辑过期后在该时长内直接返回旧值并后台刷新，超过后同步加载
+     */
+    private Map<String, Long> maxStaleness = new HashMap<>();
+
+    /**
+     * 后台刷新线程数（默认4）
+     */
+    private int staleRefreshThreads = 4;
+
+    /**
+     * 后台刷新队列长度（默认1024），队列满时放弃刷新继续使用旧值
+     */
+    private int staleRefreshQueueSize = 1024;
+
+    /**
+     * 跨节点本地缓存失效广播配置
+     */
+    private Sync sync = new Sync();
+
+    /**
+     * 热点key探测配置
+     */
+    private HotKey hotKey = new HotKey();
+
+    /**
+     * 缓存雪崩防护（过期时间打散）配置
+     */
+    private Avalanche avalanche = new Avalanche();
+
+    /**
+     * 布隆过滤器配置
+     */
+    private BloomFilter bloomFilter = new BloomFilter();
+
+    /**
+     * 缓存命名空间（按代号清空）配置
+     */
+    private Namespace namespace = new Namespace();
+
+    /**
+     * 缓存值序列化配置
+     */
+    private Serializer serializer = new Serializer();
+
+    /**
+     * 缓存值压缩配置
+     */
+    private Compression compression = new Compression();
+
+    /**
+     * 本地缓存一致性模式配置
+     */
+    private Coherence coherence = new Coherence();
+
+    /**
+     * 写后（write-behind）模式配置
+     */
+    private WriteBehind writeBehind = new WriteBehind();
+
+    /**
+     * 本地负缓存配置
+     */
+    private NegativeCache negativeCache = new NegativeCache();
+
+    /**
+     * 堆外存储配置
+     */
+    private OffHeap offHeap = new OffHeap();
+
+    /**
+     * 本地缓存热点快照配置
+     */
+    private Snapshot snapshot = new Snapshot();
+
+    /**
+     * 加载完成通知配置
+     */
+    private LoadNotify loadNotify = new LoadNotify();
+
+    /**
+     * 加载器线程池隔离配置
+     */
+    private LoaderBulkhead loaderBulkhead = new LoaderBulkhead();
+
+    /**
+     * Description: 跨节点本地缓存失效广播配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class Sync {
+        /**
+         * 是否开启跨节点失效广播，默认true
+         */
+        private boolean enabled = true;
+
+        /**
+         * 广播使用的Redis频道名（为空时按 应用名:RedisCaffeineCache:sync 生成）
+         */
+        private String topic;
+
+        /**
+         * 失效事件合并发送的时间窗口（毫秒，默认50毫秒）
+         */
+        private long flushInterval = 50;
+
+        /**
+         * 单条广播消息最多包含的失效事件数（默认512），达到后立即发送
+         */
+        private int maxBatchSize = 512;
+
+        /**
+         * 待发送失效事件队列上限（默认65536），超出后降级为整体清空对应缓存
+         */
+        private int maxPending = 65536;
+
+        /**
+         * 发布失败后的重试次数（默认3），重试用尽后降级为整体清空受影响的缓存
+         */
+        private int publishRetries = 3;
+
+        /**
+         * 第一次重试前的等待时间（毫秒，默认100毫秒），之后每次重试加倍
+         */
+        private long publishRetryBackoff = 100;
+    }
+
+    /**
+     * Description: 热点key探测配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class HotKey {
+        /**
+         * 是否开启热点key探测，默认false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 频率统计Sketch每行宽度（默认4096，取不小于该值的2的幂）
+         */
+        private int sketchWidth = 4096;
+
+        /**
+         * 衰减周期：每累计多少次访问所有计数减半（默认100000）
+         */
+        private int sampleSize = 100000;
+
+        /**
+         * 一个衰减周期内达到多少次访问视为热点（默认1000）
+         */
+        private int threshold = 1000;
+
+        /**
+         * 受保护区域容量，也是每个缓存最多跟踪的热点key数（默认1000）
+         */
+        private int protectedCapacity = 1000;
+
+        /**
+         * 受保护区域中条目写入后的过期时间（毫秒，默认2小时）
+         */
+        private long protectedExpire = 2 * 60 * 60 * 1000;
+
+        /**
+         * 监控端点每个缓存返回的热点key数量（默认100）
+         */
+        private int topN = 100;
+    }
+
+    /**
+     * Description: 缓存雪崩防护（过期时间打散）配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class Avalanche {
+        /**
+         * 配置了redisExpires的缓存，过期时间上下浮动的比例（默认0.1，即±10%）
+         */
+        private double jitterRatio = 0.1;
+
+        /**
+         * 批量写入达到多少个key时按区间均匀分散过期时间（默认100）
+         */
+        private int batchSpreadThreshold = 100;
+
+        /**
+         * 批量写入分散过期时间的最小区间宽度（毫秒，默认10分钟），不超过基准过期时间的maxBatchSpreadRatio
+         */
+        private long minBatchSpread = 10 * 60 * 1000;
+
+        /**
+         * 批量写入放宽区间时，区间宽度最多占基准过期时间的比例（默认0.2，即±10%），避免过期时间较短的缓存被拉长
+         */
+        private double maxBatchSpreadRatio = 0.2;
+
+        /**
+         * 空值在Redis中的过期时间（毫秒，默认5分钟），同样按jitterRatio浮动
+         */
+        private long nullValueExpire = 5 * 60 * 1000;
+    }
+
+    /**
+     * Description: 布隆过滤器配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class BloomFilter {
+        /**
+         * 每一代的预期元素数量（默认100000），估算元素数达到后切换到新的一代
+         */
+        private long expectedInsertions = 100000;
+
+        /**
+         * 所有代合起来的误判率上限（默认0.03）
+         */
+        private double falseProbability = 0.03;
+
+        /**
+         * 保留的代数（默认4），超出后删除最老的一代
+         */
+        private int generations = 4;
+
+        /**
+         * 本地镜像与Redis同步的间隔（毫秒，默认30秒）
+         */
+        private long syncInterval = 30 * 1000;
+    }
+
+    /**
+     * Description: 缓存命名空间（按代号清空）配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class Namespace {
+        /**
+         * 定时从Redis重新读取代号的间隔（毫秒，默认10秒），用于弥补丢失的清空广播
+         */
+        private long refreshInterval = 10 * 1000;
+
+        /**
+         * 是否在清空后后台清理旧代号的key，默认true；关闭后旧key只依靠过期时间回收
+         */
+        private boolean sweepEnabled = true;
+
+        /**
+         * 每次清理的最大key数（默认500），同时作为SCAN的COUNT
+         */
+        private int sweepBatchSize = 500;
+
+        /**
+         * 两次清理之间的间隔（毫秒，默认100毫秒）
+         */
+        private long sweepInterval = 100;
+    }
+
+    /**
+     * Description: 缓存值序列化配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class Serializer {
+        /**
+         * 序列化格式，默认JSON
+         */
+        private SerializerType type = SerializerType.JSON;
+
+        /**
+         * 二进制格式的业务类型编号（不小于100）到类名的映射，编号一经使用不能再分配给其它类型
+         */
+        private Map<Integer, String> classIds = new HashMap<>();
+    }
+
+    /**
+     * Description: 缓存值压缩配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class Compression {
+        /**
+         * 开启压缩的缓存及其压缩阈值（字节），序列化结果达到阈值的值被压缩，未配置的缓存不压缩
+         */
+        private Map<String, Integer> thresholds = new HashMap<>();
+
+        /**
+         * Deflate压缩级别（1-9，默认1），级别越高压缩率越高、CPU开销越大
+         */
+        private int level = 1;
+    }
+
+    /**
+     * Description: 本地缓存一致性模式配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class Coherence {
+        /**
+         * 默认的一致性模式，默认BROADCAST
+         */
+        private CoherenceMode mode = CoherenceMode.BROADCAST;
+
+        /**
+         * 按缓存名称单独指定的一致性模式，优先级比mode高
+         */
+        private Map<String, CoherenceMode> modes = new HashMap<>();
+    }
+
+    /**
+     * Description: 写后（write-behind）模式配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class WriteBehind {
+        /**
+         * 开启写后模式的缓存名称，put只更新本地缓存，Redis写入合并后批量执行
+         */
+        private Set<String> caches = new HashSet<>();
+
+        /**
+         * 每个缓存最多等待写入的key数（默认10000），超出后新的key同步写入Redis
+         */
+        private int maxPending = 10000;
+
+        /**
+         * 定时写入的间隔（毫秒，默认100毫秒）
+         */
+        private long flushInterval = 100;
+
+        /**
+         * 单次pipeline写入的最大key数（默认500），等待写入的key数达到后立即写入
+         */
+        private int flushBatchSize = 500;
+    }
+
+    /**
+     * Description: 本地负缓存配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class NegativeCache {
+        /**
+         * 是否开启本地负缓存，默认true，只对允许缓存空值的缓存生效；关闭后空值与普通值一起存放在本地缓存中
+         */
+        private boolean enabled = true;
+
+        /**
+         * 负缓存条目写入后的过期时间（毫秒，默认30秒）
+         */
+        private long expire = 30 * 1000;
+
+        /**
+         * 每个缓存负缓存的最大条目数（默认10000）
+         */
+        private long maximumSize = 10000;
+
+        /**
+         * 按缓存名称单独指定的过期时间（毫秒），优先级比expire高
+         */
+        private Map<String, Long> expires = new HashMap<>();
+
+        /**
+         * 按缓存名称单独指定的最大条目数，优先级比maximumSize高
+         */
+        private Map<String, Long> maximumSizes = new HashMap<>();
+    }
+
+    /**
+     * Description: 堆外存储配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class OffHeap {
+        /**
+         * 开启堆外存储的缓存及其容量（字节），未配置的缓存不使用堆外存储
+         */
+        private Map<String, Long> capacities = new HashMap<>();
+
+        /**
+         * 估算大小达到该值（字节，默认16KB）的值序列化后只存放在堆外存储中，不占用Caffeine
+         */
+        private long threshold = 16 * 1024;
+
+        /**
+         * 每次申请直接内存的块大小（字节，默认4MB），序列化后超过该大小的值不在本地缓存
+         */
+        private int slabSize = 4 * 1024 * 1024;
+    }
+
+    /**
+     * Description: 本地缓存热点快照配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class Snapshot {
+        /**
+         * 是否在关闭时保存热点快照，并在启动时按快照预热本地缓存
+         */
+        private boolean enabled = false;
+
+        /**
+         * 快照文件路径，未配置时为临时目录下的{应用名}-{实例标识}-cache-snapshot.bin，
+         * 实例标识依次取spring.application.instance-id、实际监听端口和server.port，同一台机器上的多个实例互不覆盖
+         */
+        private String file;
+
+        /**
+         * 每个缓存保存的最热key数
+         */
+        private int topN = 1000;
+
+        /**
+         * 预热时每次pipeline读取的key数
+         */
+        private int batchSize = 500;
+    }
+
+    /**
+     * Description: 加载完成通知配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class LoadNotify {
+        /**
+         * 是否开启，开启后未抢到加载锁的线程订阅加载结果，不再阻塞在分布式锁上
+         */
+        private boolean enabled = true;
+
+        /**
+         * 等待加载结果的最长时间（毫秒，默认3秒），超时后退回阻塞等待分布式锁
+         */
+        private long waitTimeout = 3000;
+
+        /**
+         * 随通知发布的值的最大字节数（默认64KB），更大的值只发布完成信号，等待方从Redis读取
+         */
+        private int maxPayload = 64 * 1024;
+    }
+
+    /**
+     * Description: 加载器线程池隔离配置
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @Data
+    public static class LoaderBulkhead {
+        /**
+         * 使用独立加载线程池的缓存及其线程数，未配置的缓存在调用线程上执行加载器
+         */
+        private Map<String, Integer> threads = new HashMap<>();
+
+        /**
+         * 默认的等待队列长度上限，队列已满时拒绝加载
+         */
+        private int queueSize = 100;
+
+        /**
+         * 按缓存名称单独指定的等待队列长度上限，优先级比queueSize高
+         */
+        private Map<String, Integer> queueSizes = new HashMap<>();
+
+        /**
+         * 默认的加载超时时间（毫秒，默认5秒），超时后中断加载器并释放分布式锁
+         */
+        private long timeout = 5000;
+
+        /**
+         * 按缓存名称单独指定的加载超时时间（毫秒），优先级比timeout高
+         */
+        private Map<String, Long> timeouts = new HashMap<>();
+    }
+
+    /**
+     * Description: 本地缓存一致性模式
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    public enum CoherenceMode {
+        /**
+         * 写入后通过应用层广播通知其它节点失效本地缓存
+         */
+        BROADCAST,
+        /**
+         * 使用RESP3的CLIENT TRACKING，由Redis推送本节点读过的key的失效消息，写入不再广播；
+         * 集群模式不支持，退回BROADCAST
+         */
+        TRACKING
+    }
+
+    /**
+     * Description: 缓存值序列化格式
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    public enum SerializerType {
+        /**
+         * 带完整类名的JSON
+         */
+        JSON,
+        /**
+         * 使用类型编号的Smile二进制格式，可读取JSON格式写入的旧值
+         */
+        BINARY
+    }
 }
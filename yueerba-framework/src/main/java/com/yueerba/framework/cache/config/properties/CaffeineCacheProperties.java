@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Description: Caffeine缓存属性配置类
  * Author: yueerba
@@ -20,12 +23,34 @@ public class CaffeineCacheProperties {
      */
     private String spec;
 
+    /**
+     * 每个cacheName的Caffeine配置描述符，优先级比spec高。
+     * 示例：caffeine.cache.specs.user=maximumWeight=67108864,expireAfterWrite=10m
+     */
+    private Map<String, String> specs = new HashMap<>();
+
     /**
      * Caffeine缓存的最大大小。
      * 注意：此处默认设置为10240（10K条目）。
      */
     private long maximumSize = 1024 * 10;
 
+    /**
+     * 本地缓存的最大权重（字节），大于0时按条目大小淘汰并替代maximumSize。
+     * 注意：此处默认设置为0，即按条目数量淘汰
+     */
+    private long maximumWeight = 0;
+
+    /**
+     * 每个cacheName的最大权重（字节），优先级比maximumWeight高
+     */
+    private Map<String, Long> maximumWeights = new HashMap<>();
+
+    /**
+     * 条目权重的计算方式，默认按对象大小估算
+     */
+    private WeigherType weigher = WeigherType.ESTIMATE;
+
     /**
      * 条目写入后的过期时间（毫秒）。
      * 注意：此处默认设置为1小时（3600000毫秒）。
@@ -44,4 +69,47 @@ public class CaffeineCacheProperties {
      * 注意：默认初始容量为16
      */
     private long initialCapacity = 16;
+
+    /**
+     * 开启提前刷新的缓存及其写入后刷新时间（毫秒）。
+     * 条目写入超过该时间后被访问时，后台从Redis重新加载，刷新完成前继续返回旧值。
+     * 应小于expireAfterWrite，否则条目会先过期
+     */
+    private Map<String, Long> refreshAfterWrite = new HashMap<>();
+
+    /**
+     * 单批提前刷新的最大key数量（默认100）
+     */
+    private int refreshBatchSize = 100;
+
+    /**
+     * 提前刷新合并等待时间（毫秒，默认10毫秒），窗口内的刷新合并为一次MGET
+     */
+    private long refreshBatchDelay = 10;
+
+    /**
+     * 提前刷新线程数（默认4）
+     */
+    private int refreshThreads = 4;
+
+    /**
+     * 提前刷新队列长度（默认1024）
+     */
+    private int refreshQueueSize = 1024;
+
+    /**
+     * Description: 本地缓存条目权重计算方式
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    public enum WeigherType {
+        /**
+         * 估算对象在堆上占用的字节数
+         */
+        ESTIMATE,
+        /**
+         * 使用序列化后的字节数
+         */
+        SERIALIZED
+    }
 }
@@ -0,0 +1,26 @@
+package com.yueerba.framework.cache.hotkey;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Description: 热点key及其估算访问次数
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotKey {
+
+    /**
+     * 原始key
+     */
+    private String key;
+
+    /**
+     * 当前衰减周期内的估算访问次数
+     */
+    private int count;
+}
@@ -0,0 +1,271 @@
+package com.yueerba.framework.cache.hotkey;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yueerba.framework.cache.sync.InvalidationStamps;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+
+/**
+ * Description: 单个缓存的热点key探测器
+ * <p>
+ * 使用带衰减的Count-Min Sketch估算每个key的访问频率：每累计sampleSize次访问，所有计数减半，
+ * 使频率反映最近的访问情况。估算值达到阈值的key成为热点，其本地缓存值被复制到一个独立的受保护区域，
+ * 该区域容量小、过期时间长，不受普通本地缓存容量淘汰的影响；衰减后低于阈值的key被移出受保护区域。
+ * <p>
+ * 放入受保护区域的值是读取方在写入之前读到的，可能晚于该key的失效才放入。读取本地缓存前先记录失效次数，
+ * 放入后再比较，期间有失效则撤销，避免旧值在受保护区域中停留整个过期时间。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class HotKeyDetector {
+
+    /**
+     * Sketch行数（哈希函数个数）
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * 每行哈希函数的种子
+     */
+    private static final int[] SEEDS = {0x97cb3127, 0x9e3779b9, 0x85ebca6b, 0xc2b2ae35};
+
+    /**
+     * 计数器上限，避免溢出
+     */
+    private static final int MAX_COUNT = Integer.MAX_VALUE >> 1;
+
+    /**
+     * 计数器表，DEPTH行，每行width列
+     */
+    private final AtomicIntegerArray table;
+
+    /**
+     * 列下标掩码（width为2的幂）
+     */
+    private final int widthMask;
+
+    /**
+     * 每行宽度
+     */
+    private final int width;
+
+    /**
+     * 衰减周期内的访问次数
+     */
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /**
+     * 是否正在衰减
+     */
+    private final AtomicBoolean decaying = new AtomicBoolean();
+
+    /**
+     * 衰减周期（访问次数）
+     */
+    private final int sampleSize;
+
+    /**
+     * 热点阈值
+     */
+    private final int threshold;
+
+    /**
+     * 最多跟踪的热点key数量
+     */
+    private final int capacity;
+
+    /**
+     * 当前热点key，访问次数从Sketch中估算
+     */
+    private final Set<Object> hotKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 受保护区域的失效次数
+     */
+    private final InvalidationStamps invalidations = new InvalidationStamps();
+
+    /**
+     * 受保护区域，存储热点key的本地缓存值
+     */
+    private final Cache<Object, Object> protectedRegion;
+
+    public HotKeyDetector(int width, int sampleSize, int threshold, int capacity, long protectedExpire) {
+        this.width = Integer.highestOneBit(Math.max(width, 16) - 1) << 1;
+        this.widthMask = this.width - 1;
+        this.table = new AtomicIntegerArray(DEPTH * this.width);
+        this.sampleSize = sampleSize;
+        this.threshold = threshold;
+        this.capacity = capacity;
+        this.protectedRegion = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .expireAfterWrite(protectedExpire, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * 从受保护区域读取。
+     *
+     * @param key 原始key
+     * @return 存储值，不在受保护区域时返回null
+     */
+    public Object get(Object key) {
+        return protectedRegion.getIfPresent(key);
+    }
+
+    /**
+     * 读取本地缓存之前记录key的失效次数，传给{@link #record(Object, Object, long)}。
+     *
+     * @param key 原始key
+     * @return 失效次数
+     */
+    public long stamp(Object key) {
+        return invalidations.stamp(key.hashCode());
+    }
+
+    /**
+     * 记录一次访问。key成为热点且当前有本地缓存值时，把值放入受保护区域；读取之后有过失效时撤销放入。
+     *
+     * @param key        原始key
+     * @param storeValue 本次访问得到的本地存储值，未命中为null
+     * @param stamp      读取本地缓存之前的失效次数，见{@link #stamp(Object)}
+     */
+    public void record(Object key, Object storeValue, long stamp) {
+        int count = increment(key);
+        if (additions.incrementAndGet() >= sampleSize) {
+            decay();
+        }
+        if (count < threshold) {
+            return;
+        }
+
+        // 已经是热点的key不再写入，只有新晋升的key才修改热点集合
+        if (!hotKeys.contains(key) && hotKeys.add(key) && hotKeys.size() > capacity) {
+            evictColdest();
+        }
+        if (storeValue != null && hotKeys.contains(key) && protectedRegion.getIfPresent(key) == null) {
+            // 先放入再检查，与失效方“先计数再移除”的顺序配合
+            protectedRegion.put(key, storeValue);
+            if (invalidations.invalidatedSince(key.hashCode(), stamp)) {
+                protectedRegion.asMap().remove(key, storeValue);
+            }
+        }
+    }
+
+    /**
+     * key被修改或删除时移出受保护区域，之后的读取会重新放入最新值。
+     *
+     * @param key 原始key
+     */
+    public void invalidate(Object key) {
+        invalidations.invalidate(key.hashCode());
+        protectedRegion.invalidate(key);
+    }
+
+    /**
+     * 清空受保护区域。
+     */
+    public void invalidateAll() {
+        invalidations.invalidateAll();
+        protectedRegion.invalidateAll();
+    }
+
+    /**
+     * 获取当前访问次数最多的热点key。
+     *
+     * @param limit 数量
+     * @return 按次数降序排列的热点key
+     */
+    public List<HotKey> topKeys(int limit) {
+        return hotKeys.stream()
+                .map(key -> new HotKey(String.valueOf(key), estimate(key)))
+                .sorted(Comparator.comparingInt(HotKey::getCount).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 在每一行中给key对应的计数器加一，返回各行中的最小值作为估算频率。
+     */
+    private int increment(Object key) {
+        int hash = spread(key.hashCode());
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = i * width + (spread(hash * SEEDS[i]) & widthMask);
+            int count = table.get(index);
+            if (count < MAX_COUNT) {
+                count = table.incrementAndGet(index);
+            }
+            min = Math.min(min, count);
+        }
+        return min;
+    }
+
+    /**
+     * 各行中key对应计数器的最小值，不增加计数。
+     */
+    private int estimate(Object key) {
+        int hash = spread(key.hashCode());
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, table.get(i * width + (spread(hash * SEEDS[i]) & widthMask)));
+        }
+        return min;
+    }
+
+    /**
+     * 所有计数减半，低于阈值的热点key降级并移出受保护区域。并发时只有一个线程执行。
+     */
+    private void decay() {
+        if (!decaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            additions.set(0);
+            for (int i = 0; i < table.length(); i++) {
+                table.set(i, table.get(i) >>> 1);
+            }
+            hotKeys.removeIf(key -> {
+                if (estimate(key) < threshold) {
+                    protectedRegion.invalidate(key);
+                    return true;
+                }
+                return false;
+            });
+        } finally {
+            decaying.set(false);
+        }
+    }
+
+    /**
+     * 热点数量超过上限时淘汰次数最少的一个。
+     */
+    private void evictColdest() {
+        hotKeys.stream()
+                .min(Comparator.comparingInt(this::estimate))
+                .ifPresent(key -> {
+                    hotKeys.remove(key);
+                    protectedRegion.invalidate(key);
+                });
+    }
+
+    /**
+     * 打散哈希值。
+     */
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xed5ad4bb;
+        hash ^= hash >>> 11;
+        hash *= 0xac4c1b51;
+        hash ^= hash >>> 15;
+        return hash;
+    }
+}
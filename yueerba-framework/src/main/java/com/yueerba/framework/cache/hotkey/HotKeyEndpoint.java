@@ -0,0 +1,36 @@
+package com.yueerba.framework.cache.hotkey;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Description: 热点key监控端点
+ * <p>
+ * GET /actuator/hotkeys 返回所有缓存的热点key，GET /actuator/hotkeys/{cacheName} 返回指定缓存的热点key，
+ * 每个缓存最多返回cache.hot-key.top-n个。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+
+    @Resource
+    private HotKeyManager hotKeyManager;
+
+    @ReadOperation
+    public Map<String, List<HotKey>> hotKeys() {
+        return hotKeyManager.topKeys();
+    }
+
+    @ReadOperation
+    public List<HotKey> hotKeys(@Selector String cacheName) {
+        return hotKeyManager.topKeys(cacheName);
+    }
+}
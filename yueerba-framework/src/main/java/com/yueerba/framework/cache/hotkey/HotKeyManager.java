@@ -0,0 +1,64 @@
+package com.yueerba.framework.cache.hotkey;
+
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Description: 热点key探测器管理
+ * <p>
+ * 按缓存名称创建和保存热点key探测器，供缓存实例和监控端点使用。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Component
+public class HotKeyManager {
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    /**
+     * 各缓存的探测器，key为缓存名称
+     */
+    private final Map<String, HotKeyDetector> detectors = new ConcurrentHashMap<>();
+
+    /**
+     * 为缓存创建热点key探测器。
+     *
+     * @param cacheName 缓存名称
+     * @return 探测器，未开启热点探测时返回null
+     */
+    public HotKeyDetector create(String cacheName) {
+        CacheProperties.HotKey hotKey = cacheProperties.getHotKey();
+        if (!hotKey.isEnabled()) {
+            return null;
+        }
+        return detectors.computeIfAbsent(cacheName, name -> new HotKeyDetector(hotKey.getSketchWidth(),
+                hotKey.getSampleSize(), hotKey.getThreshold(), hotKey.getProtectedCapacity(), hotKey.getProtectedExpire()));
+    }
+
+    /**
+     * 获取缓存当前的热点key。
+     *
+     * @param cacheName 缓存名称
+     * @return 按次数降序排列的热点key，缓存不存在时返回空列表
+     */
+    public List<HotKey> topKeys(String cacheName) {
+        HotKeyDetector detector = detectors.get(cacheName);
+        return detector == null ? Collections.emptyList() : detector.topKeys(cacheProperties.getHotKey().getTopN());
+    }
+
+    /**
+     * 获取所有缓存当前的热点key。
+     *
+     * @return 缓存名称到热点key列表的映射
+     */
+    public Map<String, List<HotKey>> topKeys() {
+        Map<String, List<HotKey>> result = new TreeMap<>();
+        detectors.keySet().forEach(cacheName -> result.put(cacheName, topKeys(cacheName)));
+        return result;
+    }
+}
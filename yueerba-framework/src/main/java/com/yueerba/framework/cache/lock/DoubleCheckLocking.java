@@ -1,23 +1,39 @@
 package com.yueerba.framework.cache.lock;
 
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Resource;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 双重检查锁策略。
  * 该类提供了一种在本地环境中实现线程安全的策略，避免多个线程同时加载同一个key的数据。
+ * <p>
+ * 同一JVM内并发加载同一个key时，只有第一个线程（leader）真正执行加载，其余线程共享leader的
+ * {@link CompletableFuture}结果，不再各自访问Redis或排队等待分布式锁。
+ * 加载结束后条目立即从表中移除；表中条目数达到上限时新来的key不再合并，直接执行加载。
  */
+@Slf4j
 @Component
 public class DoubleCheckLocking {
 
     /**
-     * 用于存储每个key对应的锁。
+     * 正在加载中的key及其加载结果。
      */
-    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存总配置。
+     */
+    @Resource
+    private CacheProperties cacheProperties;
 
     /**
      * 缓存管理器。
@@ -25,24 +41,58 @@ public class DoubleCheckLocking {
     private CacheManager cacheManager;
 
     /**
-     * 根据给定的key获取对应的锁。如果锁不存在，它将被创建。
+     * 以单飞方式执行加载：同一个key同一时刻只有一个线程执行{@code loader}，其它线程等待并共享其结果。
      *
-     * @param key 缓存key
-     * @return 对应的锁
+     * @param key    缓存key
+     * @param loader 加载逻辑
+     * @return 加载结果
      */
-    public ReentrantLock getLock(String key) {
-        return locks.computeIfAbsent(key, k -> new ReentrantLock());
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Callable<T> loader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            log.debug("key正在被其它线程加载，等待其结果，键: {}", key);
+            return (T) await(key, existing);
+        }
+
+        // 表已满时不再合并，避免无界增长：立即移出表，后来的线程各自加载；
+        // 移出之前可能已有线程拿到了future，仍由当前线程完成它
+        if (inFlight.size() > cacheProperties.getSingleFlightMaxSize()) {
+            inFlight.remove(key, future);
+            log.debug("单飞表已满，直接加载，键: {}", key);
+        }
+
+        try {
+            T value = call(key, loader);
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Error同样要通知等待的线程，否则它们会一直阻塞在join上
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
     }
 
     /**
-     * 检查给定的key是否被锁定。
+     * 检查给定的key是否正在被加载。
      *
      * @param key 缓存key
-     * @return 如果key被锁定返回true，否则返回false
+     * @return 如果key正在被加载返回true，否则返回false
      */
     public boolean isLocked(String key) {
-        ReentrantLock lock = locks.get(key);
-        return lock != null && lock.isLocked();
+        return inFlight.containsKey(key);
+    }
+
+    /**
+     * 获取当前正在加载中的key数量。
+     *
+     * @return 加载中的key数量
+     */
+    public int inFlightSize() {
+        return inFlight.size();
     }
 
     /**
@@ -62,5 +112,35 @@ public class DoubleCheckLocking {
     public void setCacheManager(CacheManager cacheManager) {
         this.cacheManager = cacheManager;
     }
-}
 
+    /**
+     * 执行加载逻辑，将受检异常包装为运行时异常。
+     */
+    private <T> T call(String key, Callable<T> loader) {
+        try {
+            return loader.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("加载缓存值失败，键: " + key, e);
+        }
+    }
+
+    /**
+     * 等待leader的加载结果，leader失败时抛出同样的异常。
+     */
+    private Object await(String key, CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("加载缓存值失败，键: " + key, cause);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.yueerba.framework.cache.lock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Description: 加载完成通知，由抢到加载锁的节点在写入Redis后发布
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadCompletion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 完整缓存key（含命名空间代号）
+     */
+    private String cacheKey;
+
+    /**
+     * 按缓存的值序列化器序列化后的存储值，与Redis中的字节一致；值超过发布上限时为null，只作为完成信号
+     */
+    private byte[] rawValue;
+
+    /**
+     * 加载是否失败，失败时等待方自行加锁加载
+     */
+    private boolean failed;
+}
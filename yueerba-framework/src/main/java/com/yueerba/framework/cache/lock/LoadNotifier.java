@@ -0,0 +1,146 @@
+package com.yueerba.framework.cache.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Description: 单个缓存的加载完成通知
+ * <p>
+ * 同一个key同时只有一个节点持有加载锁执行加载，其它节点不再阻塞在分布式锁上排队：
+ * <ul>
+ *     <li>等待方先{@link #watch(String)}登记，再读取一次Redis，避免在登记前已经完成的加载被错过；</li>
+ *     <li>加载方写入Redis后在缓存的频道上发布{@link LoadCompletion}，值不大时直接携带序列化后的值，等待方无需再访问Redis；</li>
+ *     <li>等待超过waitTimeout仍未收到通知时返回null，调用方退回阻塞等待分布式锁。</li>
+ * </ul>
+ * 频道在第一次等待时才订阅，没有发生过锁竞争的缓存不占用订阅。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+public class LoadNotifier {
+
+    private final RTopic topic;
+
+    private final long waitTimeout;
+
+    private final int maxPayload;
+
+    /**
+     * 本节点正在等待的key，key为完整缓存key
+     */
+    private final Map<String, CompletableFuture<LoadCompletion>> waiters = new ConcurrentHashMap<>();
+
+    private final Counter received;
+
+    private final Counter signalled;
+
+    private final Counter timeouts;
+
+    private volatile boolean subscribed;
+
+    LoadNotifier(String cacheName, RTopic topic, long waitTimeout, int maxPayload, MeterRegistry meterRegistry) {
+        this.topic = topic;
+        this.waitTimeout = waitTimeout;
+        this.maxPayload = maxPayload;
+        this.received = counter(cacheName, "value", meterRegistry);
+        this.signalled = counter(cacheName, "signal", meterRegistry);
+        this.timeouts = counter(cacheName, "timeout", meterRegistry);
+    }
+
+    /**
+     * 登记等待一个key的加载结果，返回后再检查一次Redis。
+     *
+     * @param cacheKey 完整缓存key
+     * @return 加载结果，调用方须在结束时{@link #cancel(String, CompletableFuture)}
+     */
+    public CompletableFuture<LoadCompletion> watch(String cacheKey) {
+        subscribe();
+        return waiters.computeIfAbsent(cacheKey, k -> new CompletableFuture<>());
+    }
+
+    /**
+     * 等待加载结果。
+     *
+     * @param completion {@link #watch(String)}返回的结果
+     * @return 加载完成通知，超时、被中断或加载失败时返回null
+     */
+    public LoadCompletion await(CompletableFuture<LoadCompletion> completion) {
+        LoadCompletion result;
+        try {
+            result = completion.get(waitTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+        if (result.isFailed()) {
+            return null;
+        }
+        (result.getRawValue() != null ? received : signalled).increment();
+        return result;
+    }
+
+    /**
+     * 取消登记。
+     *
+     * @param cacheKey   完整缓存key
+     * @param completion {@link #watch(String)}返回的结果
+     */
+    public void cancel(String cacheKey, CompletableFuture<LoadCompletion> completion) {
+        waiters.remove(cacheKey, completion);
+    }
+
+    /**
+     * 加载完成后通知所有节点的等待方，发布失败不影响加载结果，等待方超时后自行加锁。
+     *
+     * @param cacheKey 完整缓存key
+     * @param rawValue 序列化后的存储值，为null表示加载失败
+     */
+    public void publish(String cacheKey, byte[] rawValue) {
+        LoadCompletion completion = new LoadCompletion(cacheKey,
+                rawValue != null && rawValue.length <= maxPayload ? rawValue : null, rawValue == null);
+        topic.publishAsync(completion).whenComplete((receivers, e) -> {
+            if (e != null) {
+                log.warn("发布加载完成通知失败，键: {}", cacheKey, e);
+            }
+        });
+    }
+
+    private void subscribe() {
+        if (subscribed) {
+            return;
+        }
+        synchronized (this) {
+            if (!subscribed) {
+                topic.addListener(LoadCompletion.class, (channel, completion) -> {
+                    CompletableFuture<LoadCompletion> waiter = waiters.remove(completion.getCacheKey());
+                    if (waiter != null) {
+                        waiter.complete(completion);
+                    }
+                });
+                subscribed = true;
+            }
+        }
+    }
+
+    private static Counter counter(String cacheName, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("cache.load.notify")
+                .description("等待其它节点加载的结果：value为收到值，signal为只收到完成信号，timeout为超时后退回分布式锁")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
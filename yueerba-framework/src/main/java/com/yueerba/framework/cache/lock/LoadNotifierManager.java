@@ -0,0 +1,45 @@
+package com.yueerba.framework.cache.lock;
+
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.SerializationCodec;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/**
+ * Description: 加载完成通知管理
+ * <p>
+ * 为每个缓存创建使用独立频道的{@link LoadNotifier}，通知使用JDK序列化编解码器，值本身已按缓存的序列化器序列化。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Component
+public class LoadNotifierManager {
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 为缓存创建加载完成通知。
+     *
+     * @param cacheName   缓存名称
+     * @param channelName 通知频道
+     * @return 加载完成通知，未开启时返回null
+     */
+    public LoadNotifier create(String cacheName, String channelName) {
+        CacheProperties.LoadNotify config = cacheProperties.getLoadNotify();
+        if (!config.isEnabled()) {
+            return null;
+        }
+        return new LoadNotifier(cacheName, redissonClient.getTopic(channelName, new SerializationCodec()),
+                config.getWaitTimeout(), config.getMaxPayload(), meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.yueerba.framework.cache.manager;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.yueerba.framework.cache.config.properties.CaffeineCacheProperties;
+import com.yueerba.framework.cache.utils.CacheUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Description: 本地缓存条目权重计算
+ * <p>
+ * 以条目的字节数作为Caffeine权重，使maximumWeight表示本地缓存占用的内存上限而不是条目数量。
+ * ESTIMATE模式通过{@link CacheUtils#estimateSize(Object)}估算堆占用；
+ * SERIALIZED模式使用Redis值序列化器序列化后的长度，更接近Redis中的实际大小，但每次写入本地缓存都要多序列化一次。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    /**
+     * 权重计算方式
+     */
+    private final CaffeineCacheProperties.WeigherType type;
+
+    /**
+     * 值序列化器，SERIALIZED模式使用
+     */
+    private final RedisSerializer<Object> serializer;
+
+    public CacheEntryWeigher(CaffeineCacheProperties.WeigherType type, RedisSerializer<Object> serializer) {
+        this.type = type;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long size = CacheUtils.estimateSize(key) + sizeOf(value);
+        // 权重至少为1，超过int范围时取最大值
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, size));
+    }
+
+    private long sizeOf(Object value) {
+        if (type == CaffeineCacheProperties.WeigherType.SERIALIZED) {
+            try {
+                byte[] bytes = serializer.serialize(value);
+                return bytes == null ? 0 : bytes.length;
+            } catch (SerializationException e) {
+                log.debug("序列化计算权重失败，改用估算，类型: {}", value.getClass().getName(), e);
+            }
+        }
+        return CacheUtils.estimateSize(value);
+    }
+}
@@ -1,4 +1,253 @@
 package com.yueerba.framework.cache.manager;
 
-public class RedisCaffeineCacheManager {
+import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yueerba.framework.cache.bulkhead.LoaderBulkheadManager;
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import com.yueerba.framework.cache.config.properties.CaffeineCacheProperties;
+import com.yueerba.framework.cache.hotkey.HotKeyManager;
+import com.yueerba.framework.cache.lock.DoubleCheckLocking;
+import com.yueerba.framework.cache.lock.LoadNotifierManager;
+import com.yueerba.framework.cache.lock.RedisDistributedLock;
+import com.yueerba.framework.cache.manager.custom.RedisCaffeineCache;
+import com.yueerba.framework.cache.metrics.CacheMetrics;
+import com.yueerba.framework.cache.namespace.CacheNamespaceManager;
+import com.yueerba.framework.cache.offheap.OffHeapStoreManager;
+import com.yueerba.framework.cache.refresh.RefreshAheadCacheLoader;
+import com.yueerba.framework.cache.refresh.RefreshAheadSupport;
+import com.yueerba.framework.cache.serializer.CompressionCodec;
+import com.yueerba.framework.cache.serializer.CompressionRedisSerializer;
+import com.yueerba.framework.cache.serializer.GenericJackson2JsonCodec;
+import com.yueerba.framework.cache.serializer.ValueCompressor;
+import com.yueerba.framework.cache.strategy.avalanche.RedisExpirePolicy;
+import com.yueerba.framework.cache.strategy.breakdown.CacheBreakdownProtection;
+import com.yueerba.framework.cache.strategy.filter.BloomFilterStrategy;
+import com.yueerba.framework.cache.strategy.filter.NegativeCacheStrategy;
+import com.yueerba.framework.cache.sync.CacheDelayedConsumer;
+import com.yueerba.framework.cache.sync.CacheDelayedProducer;
+import com.yueerba.framework.cache.sync.ClientTrackingConnection;
+import com.yueerba.framework.cache.writebehind.WriteBehindManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Redis和Caffeine二级缓存管理器
+ * <p>
+ * 按缓存名称懒创建{@link RedisCaffeineCache}，每个缓存使用自己的Caffeine配置和Redis过期时间：
+ * <ul>
+ *     <li>本地缓存：caffeine.cache.specs中为该名称配置的描述符优先，其次是全局spec，最后使用各单项配置；</li>
+ *     <li>本地容量：配置了maximumWeight（或该名称的maximumWeights）时按条目字节数淘汰，否则按maximumSize条目数淘汰；</li>
+ *     <li>Redis过期时间：由{@link RedisExpirePolicy}计算，cache.redis-expires中为该名称配置的时间优先，未配置时使用随机过期时间；</li>
+ *     <li>压缩：cache.compression.thresholds中配置了阈值的缓存使用带压缩的RedisTemplate和编解码器；</li>
+ *     <li>一致性：cache.coherence.modes中为该名称配置的模式优先，其次是cache.coherence.mode，TRACKING模式的缓存使用失效跟踪连接。</li>
+ * </ul>
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
+public class RedisCaffeineCacheManager implements CacheManager {
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    @Resource
+    private CaffeineCacheProperties caffeineCacheProperties;
+
+    @Resource
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private RedisDistributedLock redisDistributedLock;
+
+    @Resource
+    private DoubleCheckLocking doubleCheckLocking;
+
+    @Resource
+    private CacheDelayedProducer cacheDelayedProducer;
+
+    @Resource
+    private CacheDelayedConsumer cacheDelayedConsumer;
+
+    @Resource
+    private CacheBreakdownProtection cacheBreakdownProtection;
+
+    @Resource
+    private RedisExpirePolicy redisExpirePolicy;
+
+    @Resource
+    private BloomFilterStrategy bloomFilterStrategy;
+
+    @Resource
+    private CacheNamespaceManager cacheNamespaceManager;
+
+    @Resource
+    private HotKeyManager hotKeyManager;
+
+    @Resource
+    private RefreshAheadSupport refreshAheadSupport;
+
+    @Resource
+    private RedisSerializer<Object> redisValueSerializer;
+
+    @Resource
+    private GenericJackson2JsonCodec genericJackson2JsonCodec;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @Resource
+    private ClientTrackingConnection clientTrackingConnection;
+
+    @Resource
+    private WriteBehindManager writeBehindManager;
+
+    @Resource
+    private NegativeCacheStrategy negativeCacheStrategy;
+
+    @Resource
+    private OffHeapStoreManager offHeapStoreManager;
+
+    @Resource
+    private LoadNotifierManager loadNotifierManager;
+
+    @Resource
+    private LoaderBulkheadManager loaderBulkheadManager;
+
+    /**
+     * 已创建的缓存，key为缓存名称
+     */
+    private final Map<String, Cache> cacheMap = new ConcurrentHashMap<>();
+
+    /**
+     * 按权重淘汰时使用的条目权重计算
+     */
+    private CacheEntryWeigher weigher;
+
+    @PostConstruct
+    public void init() {
+        this.weigher = new CacheEntryWeigher(caffeineCacheProperties.getWeigher(), redisValueSerializer);
+        doubleCheckLocking.setCacheManager(this);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = cacheMap.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        return cacheMap.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(cacheMap.keySet());
+    }
+
+    /**
+     * 创建缓存实例，开启了提前刷新的缓存使用LoadingCache并绑定批量回源。
+     *
+     * @param name 缓存名称
+     * @return 缓存实例
+     */
+    private RedisCaffeineCache createCache(String name) {
+        Caffeine<Object, Object> builder = caffeineBuilder(name);
+        RefreshAheadCacheLoader loader = refreshAheadSupport.createLoader(name);
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache = loader == null
+                ? builder.build() : refreshAheadSupport.apply(builder, name).build(loader);
+
+        // 开启压缩的缓存使用独立的RedisTemplate和编解码器，其它缓存共用默认实例
+        RedisTemplate<String, Object> cacheRedisTemplate = redisTemplate;
+        Codec codec = genericJackson2JsonCodec;
+        Integer threshold = cacheProperties.getCompression().getThresholds().get(name);
+        if (threshold != null && threshold > 0) {
+            ValueCompressor compressor = new ValueCompressor(name, threshold,
+                    cacheProperties.getCompression().getLevel(), meterRegistry);
+            cacheRedisTemplate = compressionRedisTemplate(new CompressionRedisSerializer(redisValueSerializer, compressor));
+            codec = new CompressionCodec(genericJackson2JsonCodec, compressor);
+        }
+
+        CacheProperties.Coherence coherence = cacheProperties.getCoherence();
+        boolean tracking = coherence.getModes().getOrDefault(name, coherence.getMode()) == CacheProperties.CoherenceMode.TRACKING;
+
+        RedisCaffeineCache cache = new RedisCaffeineCache(name, localCache, cacheProperties.isCacheNullValues(),
+                cacheRedisTemplate, redissonClient, codec, redisDistributedLock, doubleCheckLocking,
+                cacheDelayedProducer, cacheDelayedConsumer, cacheProperties, cacheBreakdownProtection, redisExpirePolicy,
+                bloomFilterStrategy, cacheNamespaceManager, hotKeyManager, new CacheMetrics(name, meterRegistry),
+                tracking ? clientTrackingConnection : null, writeBehindManager, negativeCacheStrategy,
+                offHeapStoreManager, loadNotifierManager, loaderBulkheadManager);
+        if (loader != null) {
+            loader.bind(cache::reloadAll);
+        }
+
+        log.info("创建二级缓存，名称: {}，本地缓存容量: {}，Redis过期时间: {}", name,
+                localCache.policy().eviction().map(eviction -> (eviction.isWeighted() ? "weight=" : "size=")
+                        + eviction.getMaximum()).orElse("unbounded"),
+                cacheProperties.getRedisExpires().getOrDefault(name, -1L));
+        return cache;
+    }
+
+    /**
+     * 创建与默认RedisTemplate配置相同、只替换值序列化器的RedisTemplate。
+     *
+     * @param valueSerializer 值序列化器
+     * @return RedisTemplate
+     */
+    private RedisTemplate<String, Object> compressionRedisTemplate(RedisSerializer<Object> valueSerializer) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisTemplate.getConnectionFactory());
+        template.setKeySerializer(redisTemplate.getKeySerializer());
+        template.setHashKeySerializer(redisTemplate.getHashKeySerializer());
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * 按缓存名称生成Caffeine构建器。
+     * 描述符中声明了maximumWeight时使用条目权重计算；未配置描述符时，最大权重大于0按权重淘汰，否则按条目数淘汰。
+     *
+     * @param name 缓存名称
+     * @return Caffeine构建器
+     */
+    private Caffeine<Object, Object> caffeineBuilder(String name) {
+        String spec = caffeineCacheProperties.getSpecs().getOrDefault(name, caffeineCacheProperties.getSpec());
+        if (StrUtil.isNotBlank(spec)) {
+            Caffeine<Object, Object> builder = Caffeine.from(spec);
+            if (spec.contains("maximumWeight")) {
+                builder.weigher(weigher);
+            }
+            return builder;
+        }
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .initialCapacity((int) caffeineCacheProperties.getInitialCapacity())
+                .expireAfterWrite(caffeineCacheProperties.getExpireAfterWrite(), TimeUnit.MILLISECONDS)
+                .expireAfterAccess(caffeineCacheProperties.getExpireAfterAccess(), TimeUnit.MILLISECONDS);
+        long maximumWeight = caffeineCacheProperties.getMaximumWeights()
+                .getOrDefault(name, caffeineCacheProperties.getMaximumWeight());
+        if (maximumWeight > 0) {
+            return builder.maximumWeight(maximumWeight).weigher(weigher);
+        }
+        return builder.maximumSize(caffeineCacheProperties.getMaximumSize());
+    }
 }
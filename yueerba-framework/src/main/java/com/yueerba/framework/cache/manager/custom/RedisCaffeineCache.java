@@ -2,22 +2,60 @@ package com.yueerba.framework.cache.manager.custom;
 
 import cn.hutool.extra.spring.SpringUtil;
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.yueerba.framework.cache.batch.AsyncBatchOperationInterface;
 import com.yueerba.framework.cache.batch.BatchOperationInterface;
+import com.yueerba.framework.cache.bulkhead.LoaderBulkhead;
+import com.yueerba.framework.cache.bulkhead.LoaderBulkheadManager;
+import com.yueerba.framework.cache.hotkey.HotKeyDetector;
+import com.yueerba.framework.cache.hotkey.HotKeyManager;
+import com.yueerba.framework.cache.config.properties.CacheProperties;
 import com.yueerba.framework.cache.lock.DoubleCheckLocking;
+import com.yueerba.framework.cache.lock.LoadCompletion;
+import com.yueerba.framework.cache.lock.LoadNotifier;
+import com.yueerba.framework.cache.lock.LoadNotifierManager;
 import com.yueerba.framework.cache.lock.RedisDistributedLock;
+import com.yueerba.framework.cache.metrics.CacheMetrics;
+import com.yueerba.framework.cache.namespace.CacheNamespace;
+import com.yueerba.framework.cache.namespace.CacheNamespaceManager;
+import com.yueerba.framework.cache.offheap.OffHeapStore;
+import com.yueerba.framework.cache.offheap.OffHeapStoreManager;
+import com.yueerba.framework.cache.strategy.avalanche.RedisExpirePolicy;
+import com.yueerba.framework.cache.strategy.breakdown.CacheBreakdownProtection;
+import com.yueerba.framework.cache.strategy.breakdown.LogicalExpireValue;
+import com.yueerba.framework.cache.strategy.filter.BloomFilterStrategy;
+import com.yueerba.framework.cache.strategy.filter.LocalBloomFilter;
+import com.yueerba.framework.cache.strategy.filter.LocalNegativeCache;
+import com.yueerba.framework.cache.strategy.filter.NegativeCacheStrategy;
+import com.yueerba.framework.cache.sync.CacheChange;
+import com.yueerba.framework.cache.sync.CacheDelayedConsumer;
+import com.yueerba.framework.cache.sync.CacheDelayedProducer;
+import com.yueerba.framework.cache.sync.ClientTrackingConnection;
+import com.yueerba.framework.cache.sync.InvalidationStamps;
+import com.yueerba.framework.cache.utils.CacheUtils;
+import com.yueerba.framework.cache.writebehind.WriteBehindBuffer;
+import com.yueerba.framework.cache.writebehind.WriteBehindManager;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RBloomFilter;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
+import org.redisson.api.*;
+import org.redisson.client.codec.Codec;
 import org.springframework.cache.caffeine.CaffeineCache;
-import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static com.yueerba.framework.cache.config.properties.CacheProperties.CACHE_PREFIX;
@@ -29,7 +67,7 @@ import static com.yueerba.framework.cache.config.properties.CacheProperties.KEY_
  * Date: 2023/9/15
  */
 @Slf4j
-public class RedisCaffeineCache extends CaffeineCache implements BatchOperationInterface {
+public class RedisCaffeineCache extends CaffeineCache implements BatchOperationInterface, AsyncBatchOperationInterface {
 
     /**
      * 缓存名称
@@ -37,20 +75,40 @@ public class RedisCaffeineCache extends CaffeineCache implements BatchOperationI
     private final String cacheName;
 
     /**
-     * 缓存名前缀，用于生成缓存key
+     * 缓存名前缀（不含命名空间代号），用于生成布隆过滤器等辅助key
      */
     private final String cacheNamePrefix;
 
+    /**
+     * Redis命名空间，缓存key为 缓存名前缀 + 代号 + 分隔符 + key
+     */
+    private final CacheNamespace namespace;
+
+    /**
+     * 命名空间管理，用于提交旧代号的后台清理
+     */
+    private final CacheNamespaceManager cacheNamespaceManager;
+
     /**
      * Redis操作模板
      */
     private final RedisTemplate<String, Object> redisTemplate;
 
+    /**
+     * 值序列化器，按key字节直接读写Redis时使用
+     */
+    private final RedisSerializer<Object> valueSerializer;
+
     /**
      * Redisson客户端
      */
     private final RedissonClient redissonClient;
 
+    /**
+     * 读写缓存值使用的Redisson编解码器（开启压缩时为压缩编解码器）
+     */
+    private final Codec codec;
+
     /**
      * Redis分布式锁工具
      */
@@ -62,23 +120,103 @@ public class RedisCaffeineCache extends CaffeineCache implements BatchOperationI
     private final DoubleCheckLocking doubleCheckLocking;
 
     /**
-     * 用于缓存键的布隆过滤器
+     * 缓存键布隆过滤器的本地镜像
      */
-    private final RBloomFilter<String> bloomFilter;
+    private final LocalBloomFilter bloomFilter;
 
     /**
-     * 特殊的空值用于解决缓存穿透问题
+     * Caffeine本地缓存
      */
-    private static final String NULL_VALUE = "CUSTOM_NULL_VALUE";
+    private final Cache<Object, Object> caffeineCache;
+
+    /**
+     * 缓存变更生产者，用于向其它节点广播本地缓存失效
+     */
+    private final CacheDelayedProducer cacheDelayedProducer;
+
+    /**
+     * 缓存总配置
+     */
+    private final CacheProperties cacheProperties;
+
+    /**
+     * 缓存击穿防护（stale-while-revalidate）
+     */
+    private final CacheBreakdownProtection cacheBreakdownProtection;
+
+    /**
+     * Redis过期时间策略
+     */
+    private final RedisExpirePolicy redisExpirePolicy;
+
+    /**
+     * 最大陈旧时长（毫秒），大于0表示开启逻辑过期模式
+     */
+    private final long maxStaleness;
+
+    /**
+     * 开启提前刷新时，记录每个key最近一次使用的加载器，Redis中的值丢失时用于回源；未开启时为null
+     */
+    private final Cache<Object, Callable<?>> refreshLoaders;
 
     /**
-     * 空值在Redis中的过期时间（秒）
+     * 热点key探测器，未开启热点探测时为null
      */
-    private static final int NULL_VALUE_EXPIRE_TIME = 300;
+    private final HotKeyDetector hotKeyDetector;
+
+    /**
+     * 各层级的监控指标
+     */
+    private final CacheMetrics metrics;
+
+    /**
+     * 客户端缓存失效跟踪连接，为null时通过应用层广播保持各节点本地缓存一致
+     */
+    private final ClientTrackingConnection trackingConnection;
+
+    /**
+     * 写后缓冲区，未开启写后模式时为null
+     */
+    private final WriteBehindBuffer writeBehind;
+
+    /**
+     * 本地负缓存，为null时空值与普通值一起存放在Caffeine中
+     */
+    private final LocalNegativeCache negativeCache;
+
+    /**
+     * 堆外存储，位于Caffeine和Redis之间保存大值，未开启时为null
+     */
+    private final OffHeapStore offHeapStore;
+
+    /**
+     * 估算大小达到该值（字节）的值只存放在堆外存储中
+     */
+    private final long offHeapThreshold;
+
+    /**
+     * 加载完成通知，未开启时为null，未抢到加载锁的线程阻塞等待分布式锁
+     */
+    private final LoadNotifier loadNotifier;
+
+    /**
+     * 加载器线程池，未配置时为null，加载器在调用线程上执行
+     */
+    private final LoaderBulkhead loaderBulkhead;
+
+    /**
+     * BROADCAST模式下本地缓存的失效次数，回填前后比较，避免读到的旧值在失效之后才写入本地缓存
+     */
+    private final InvalidationStamps invalidations = new InvalidationStamps();
+
+    /**
+     * 特殊的空值用于解决缓存穿透问题
+     */
+    private static final String NULL_VALUE = "CUSTOM_NULL_VALUE";
 
     /**
      * 使用指定的名称、Caffeine缓存实例、RedisTemplate、RedissonClient、
-     * RedisDistributedLock、DoubleCheckLocking、RBloomFilter、是否允许null值等属性
+     * RedisDistributedLock、DoubleCheckLocking、是否允许null值等属性
      * 创建一个新的RedisCaffeineCache实例。
      *
      * @param name 缓存的名称。
@@ -86,31 +224,85 @@ public class RedisCaffeineCache extends CaffeineCache implements BatchOperationI
      * @param allowNullValues 是否允许缓存值为null。
      * @param redisTemplate Redis操作模板。
      * @param redissonClient Redisson客户端。
+     * @param codec 读写缓存值使用的Redisson编解码器。
      * @param redisDistributedLock Redis分布式锁工具。
      * @param doubleCheckLocking 双重检查锁策略。
-     * @param bloomFilter 用于缓存键的布隆过滤器。
+     * @param cacheDelayedProducer 缓存变更生产者。
+     * @param cacheDelayedConsumer 缓存变更消费者。
+     * @param cacheProperties 缓存总配置。
+     * @param cacheBreakdownProtection 缓存击穿防护。
+     * @param redisExpirePolicy Redis过期时间策略。
+     * @param bloomFilterStrategy 布隆过滤器策略。
+     * @param cacheNamespaceManager 缓存命名空间管理。
+     * @param hotKeyManager 热点key探测器管理。
+     * @param metrics 监控指标。
+     * @param trackingConnection 客户端缓存失效跟踪连接，为null时使用应用层广播。
+     * @param writeBehindManager 写后缓冲区管理。
+     * @param negativeCacheStrategy 本地负缓存策略。
+     * @param offHeapStoreManager 堆外存储管理。
+     * @param loadNotifierManager 加载完成通知管理。
+     * @param loaderBulkheadManager 加载器线程池管理。
      */
     public RedisCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues,
-                              RedisTemplate<String, Object> redisTemplate, RedissonClient redissonClient,
+                              RedisTemplate<String, Object> redisTemplate, RedissonClient redissonClient, Codec codec,
                               RedisDistributedLock redisDistributedLock, DoubleCheckLocking doubleCheckLocking,
-                              RBloomFilter<String> bloomFilter) {
+                              CacheDelayedProducer cacheDelayedProducer,
+                              CacheDelayedConsumer cacheDelayedConsumer, CacheProperties cacheProperties,
+                              CacheBreakdownProtection cacheBreakdownProtection, RedisExpirePolicy redisExpirePolicy,
+                              BloomFilterStrategy bloomFilterStrategy, CacheNamespaceManager cacheNamespaceManager,
+                              HotKeyManager hotKeyManager, CacheMetrics metrics,
+                              ClientTrackingConnection trackingConnection, WriteBehindManager writeBehindManager,
+                              NegativeCacheStrategy negativeCacheStrategy, OffHeapStoreManager offHeapStoreManager,
+                              LoadNotifierManager loadNotifierManager, LoaderBulkheadManager loaderBulkheadManager) {
         super(name, cache, allowNullValues);
+        this.caffeineCache = cache;
 
         this.cacheName = name;
         this.cacheNamePrefix = new StringJoiner(KEY_SEGMENTATION)
                 .add(SpringUtil.getApplicationName())
                 .add(CACHE_PREFIX)
                 .add(cacheName) + KEY_SEGMENTATION;
-        log.debug("创建缓存实例名:{},缓存key前缀:{}", cacheName, cacheNamePrefix);
+        this.cacheNamespaceManager = cacheNamespaceManager;
+        this.namespace = cacheNamespaceManager.create(name, cacheNamePrefix, this::clearLocal);
+        log.debug("创建缓存实例名:{},缓存key前缀:{}", cacheName, namespace.prefix());
 
         this.redisTemplate = redisTemplate;
+        this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
         this.redissonClient = redissonClient;
+        this.codec = codec;
         this.redisDistributedLock = redisDistributedLock;
         this.doubleCheckLocking = doubleCheckLocking;
-
-        // 布隆过滤器初始化
-        this.bloomFilter = redissonClient.getBloomFilter(cacheNamePrefix + "bloomFilter");
-        bloomFilter.tryInit(100000L, 0.03);
+        this.cacheProperties = cacheProperties;
+        this.cacheBreakdownProtection = cacheBreakdownProtection;
+        this.maxStaleness = cacheBreakdownProtection.maxStaleness(name);
+        this.redisExpirePolicy = redisExpirePolicy;
+
+        // 本地缓存为LoadingCache说明开启了提前刷新，加载器记录表与本地缓存同样大小（按权重淘汰时取默认条目数）
+        long localMaximumSize = cache.policy().eviction().filter(eviction -> !eviction.isWeighted())
+                .map(eviction -> eviction.getMaximum()).orElse(1024L * 10);
+        this.refreshLoaders = cache instanceof LoadingCache ? Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .build() : null;
+        this.hotKeyDetector = hotKeyManager.create(name);
+        this.metrics = metrics;
+
+        // 布隆过滤器本地镜像初始化
+        this.bloomFilter = bloomFilterStrategy.create(name, cacheNamePrefix + "bloomFilter");
+
+        // TRACKING模式注册失败（集群模式或连接失败）时退回广播
+        this.trackingConnection = trackingConnection != null && trackingConnection.register(this, cacheNamePrefix)
+                ? trackingConnection : null;
+
+        this.writeBehind = writeBehindManager.create(name, this::flushWriteBehind, this::broadcastWritten);
+        this.negativeCache = allowNullValues ? negativeCacheStrategy.create(name) : null;
+        this.offHeapStore = offHeapStoreManager.create(name, cache);
+        this.offHeapThreshold = offHeapStoreManager.threshold();
+        this.loadNotifier = loadNotifierManager.create(name, cacheNamePrefix + "loaded");
+        this.loaderBulkhead = loaderBulkheadManager.create(name);
+
+        // 注册到缓存变更消费者，接收其它节点的本地缓存失效广播（TRACKING模式下仍需接收清空事件）
+        this.cacheDelayedProducer = cacheDelayedProducer;
+        cacheDelayedConsumer.register(this);
 
         log.debug("初始化RedisCaffeineCache实例，名称: {}, 是否允许null值: {}", name, allowNullValues);
     }
@@ -128,16 +320,36 @@ public class RedisCaffeineCache extends CaffeineCache implements BatchOperationI
     public <T> T get(Object key, Callable<T> valueLoader) {
         log.debug("尝试获取缓存值，键: {}", key);
 
-        // 在Caffeine缓存中查找缓存值
-        T value = (T) super.get(key);
+        // 只在Caffeine缓存中查找缓存值，未命中时才进入单飞加载；本地缓存的空值直接返回，不再访问Redis
+        Object storeValue = localLookup(key);
+        if (storeValue instanceof NullValue) {
+            return null;
+        }
+        T value = (T) getLocalValue(key, storeValue, valueLoader);
 
         if (value == null) {
             log.debug("在Caffeine缓存中未找到值，尝试从Redis或通过加载器加载值，键: {}", key);
 
+            if (refreshLoaders != null) {
+                refreshLoaders.put(localKey(key), valueLoader);
+            }
+
+            // 同一JVM内同一个key只有一个线程访问Redis和分布式锁，其余线程共享其结果
             // 尝试从Redis中检索缓存值
             // 如果存在，则将其存储到Caffeine缓存中
             // 如果不存在，则通过valueLoader加载值
-            value = loadFromRedisOrLoadWithLoader(key, valueLoader);
+            value = doubleCheckLocking.execute(cacheKey(key), () -> {
+                // 双重检查：等待期间其它线程可能刚完成加载
+                Object local = peekLocal(key);
+                if (local instanceof NullValue) {
+                    return null;
+                }
+                Object loaded = getLocalValue(key, local, valueLoader);
+                if (loaded != null) {
+                    return (T) loaded;
+                }
+                return loadFromRedisOrLoadWithLoader(key, valueLoader);
+            });
         }
 
         log.debug("获取缓存值完成，键: {}，值: {}", key, value);
@@ -155,27 +367,32 @@ public class RedisCaffeineCache extends CaffeineCache implements BatchOperationI
     public void put(Object key, Object value) {
         log.debug("尝试向缓存中添加或更新值，键: {}，值: {}", key, value);
 
+        // 写后模式只更新本地缓存，Redis写入和失效广播在批量写入时完成；缓冲区已满时同步写入
+        if (writeBehind != null && putBehind(key, value)) {
+            return;
+        }
+
         // 生成缓存键
-        String cacheKey = cacheKey(key);
+        byte[] rawKey = namespace.rawKey(key);
 
         // 如果值为null，将其设置为特殊的空值以解决缓存穿透问题
         if (value == null) {
-            log.debug("值为null，将其设置为特殊的空值以解决缓存穿透问题，键: {}", cacheKey);
-            redisTemplate.opsForValue().set(cacheKey, NULL_VALUE, NULL_VALUE_EXPIRE_TIME);
+            log.debug("值为null，将其设置为特殊的空值以解决缓存穿透问题，键: {}", key);
+            storeAndFill(key, rawKey, null);
         } else {
-            // 否则，将值存储到Redis中
-            log.debug("将值存储到Redis中，键: {}", cacheKey);
-            redisTemplate.opsForValue().set(cacheKey, value);
+            // 否则，将值存储到Redis和Caffeine缓存中
+            log.debug("将值存储到Redis和Caffeine缓存中，键: {}", key);
+            Object cacheValue = toCacheValue(value);
+            storeAndFill(key, rawKey, cacheValue);
 
             // 将缓存键添加到布隆过滤器中
-            log.debug("将缓存键添加到布隆过滤器中，键: {}", cacheKey);
-            bloomFilter.add(cacheKey);
-
-            // 将值存储到Caffeine缓存中
-            log.debug("将值存储到Caffeine缓存中，键: {}", key);
-            super.put(key, value);
+            log.debug("将缓存键添加到布隆过滤器中，键: {}", key);
+            bloomFilter.add(rawKey);
         }
 
+        // 通知其它节点失效本地缓存
+        broadcast(CacheChange.EventType.ADD, key);
+
         log.debug("添加或更新缓存值完成，键: {}，值: {}", key, value);
     }
 
@@ -190,15 +407,29 @@ public class RedisCaffeineCache extends CaffeineCache implements BatchOperationI
         log.debug("尝试从缓存中删除值，键: {}", key);
 
         // 生成缓存键
-        String cacheKey = cacheKey(key);
+        byte[] rawKey = namespace.rawKey(key);
+
+        // 丢弃等待写入的值，避免删除后又被写回Redis
+        if (writeBehind != null) {
+            writeBehind.discard(localKey(key));
+        }
 
         // 从Redis中删除键值对
-        log.debug("从Redis中删除键值对，键: {}", cacheKey);
-        redisTemplate.delete(cacheKey);
+        log.debug("从Redis中删除键值对，键: {}", key);
+        long start = System.nanoTime();
+        if (trackingConnection != null) {
+            trackingConnection.del(rawKey);
+        } else {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.del(rawKey));
+        }
+        metrics.redis(CacheMetrics.RedisOperation.DELETE, start);
 
         // 从Caffeine缓存中删除键值对
         log.debug("从Caffeine缓存中删除键值对，键: {}", key);
-        super.evict(key);
+        evictLocal(key);
+
+        // 通知其它节点失效本地缓存
+        broadcast(CacheChange.EventType.DELETE, key);
 
         log.debug("删除缓存值完成，键: {}", key);
     }
@@ -206,277 +437,1503 @@ public class RedisCaffeineCache extends CaffeineCache implements BatchOperationI
 
     /**
      * 清空缓存，删除当前缓存中的所有键值对。
+     * <p>
+     * Redis中只把命名空间代号加一（一次INCR），旧代号下的key不再被访问，由后台清理线程按速率UNLINK或等待过期。
      */
     @Override
     public void clear() {
         log.debug("尝试清空缓存");
 
-        // 清空Caffeine缓存
+        // 先切换代号再清空本地缓存，清空后的回填都写入新代号
+        long generation = namespace.increment();
+        log.debug("缓存命名空间切换到新的代号: {}", generation);
+
+        // 清空Caffeine缓存和等待写入的值
         log.debug("清空Caffeine缓存");
-        super.clear();
+        clearLocal();
+        if (writeBehind != null) {
+            writeBehind.clear();
+        }
 
-        // 注意：这里选择清空与当前缓存名称相关的Redis缓存，而不是整个Redis缓存
-        String pattern = cacheNamePrefix + "*";
-        Set<String> keys = redisTemplate.keys(pattern);
+        // 后台清理上一代的key
+        cacheNamespaceManager.sweep(namespace, generation - 1);
 
-        if (keys != null && !keys.isEmpty()) {
-            // 从Redis中删除与当前缓存名称相关的所有键值对
-            log.debug("从Redis中删除与当前缓存名称相关的所有键值对，keys: {}", keys);
-            redisTemplate.delete(keys);
-        }
+        // 通知其它节点切换代号并清空本地缓存
+        cacheDelayedProducer.produce(new CacheChange(CacheChange.EventType.CLEAR, cacheName, generation));
 
         log.debug("清空缓存完成");
     }
 
 
     /**
-     * 根据指定的键查找缓存值。
+     * 应用其它节点的清空：更新命名空间代号并清空本地缓存。
      *
-     * @param key 要查找的键。
-     * @return 缓存中与键关联的值，如果键不存在则返回 null。
+     * @param generation 清空后的代号，为null时只清空本地缓存
      */
-    @Override
-    protected Object lookup(Object key) {
-        log.debug("尝试查找缓存值，键: {}", key);
-
-        // 生成缓存键
-        String cacheKey = cacheKey(key);
+    public void clearLocal(Long generation) {
+        if (generation != null) {
+            namespace.advance(generation);
+        }
+        clearLocal();
+    }
 
-        // 首先从Caffeine缓存中查找
-        log.debug("尝试从Caffeine缓存中查找，键: {}", key);
-        Object value = super.lookup(key);
 
-        if (value != null) {
-            log.debug("从Caffeine缓存中找到值，键: {}", key);
-            return value;
+    /**
+     * 仅失效本节点Caffeine缓存中的指定键，不操作Redis，也不再广播。
+     * 用于应用其它节点发来的失效事件。先记录失效次数再失效，正在回填该key的读取会撤销回填。
+     *
+     * @param key 原始key
+     */
+    public void evictLocal(Object key) {
+        log.debug("失效本地缓存，键: {}", key);
+        invalidateStamp(key);
+        Object localKey = localKey(key);
+        super.evict(localKey);
+        if (negativeCache != null) {
+            negativeCache.invalidate(localKey);
         }
+        if (offHeapStore != null) {
+            offHeapStore.invalidate(localKey);
+        }
+        if (hotKeyDetector != null) {
+            hotKeyDetector.invalidate(localKey);
+        }
+    }
 
-        // 如果在Caffeine缓存中找不到，尝试从Redis中查找
-        log.debug("尝试从Redis缓存中查找，键: {}", cacheKey);
-        value = redisTemplate.opsForValue().get(cacheKey);
 
-        if (value != null) {
-            log.debug("从Redis缓存中找到值，键: {}", cacheKey);
-            CacheChange cacheChange = new CacheChange(CacheChange.EventType.LOOK, cacheKey, null);
-            cacheDelayedConsumer.processCacheChange(cacheChange);
-        } else {
-            log.debug("在任何缓存中都找不到值，键: {}", key);
+    /**
+     * 应用Redis推送的失效消息，仅失效本节点的本地缓存。
+     *
+     * @param redisKey 被修改的完整缓存key
+     */
+    public void onTrackingInvalidate(String redisKey) {
+        String prefix = namespace.prefix();
+        // 旧代号的key在清空时已随本地缓存一起失效
+        if (!redisKey.startsWith(prefix)) {
+            return;
         }
 
-        return value;
+        // 本地缓存以原始key的字符串形式为key，与Redis key去掉前缀后的部分相同
+        evictLocal(redisKey.substring(prefix.length()));
     }
 
 
     /**
-     * 批量从缓存中获取数据。首先从Caffeine缓存中获取，如果某些键没有命中，则进一步从Redis中获取。
-     *
-     * @param cacheKeys 缓存的key列表
-     * @return 缓存的键值对，其中键为缓存的key，值为对应的缓存值。
+     * 仅清空本节点的Caffeine缓存，不操作Redis，也不再广播。
+     * 用于应用其它节点发来的清空事件。
      */
-    @Override
-    public <V> Map<String, V> batchGet(List<String> cacheKeys) {
-        log.debug("批量获取缓存数据，keys: {}", cacheKeys);
+    public void clearLocal() {
+        log.debug("清空本地缓存，缓存: {}", cacheName);
+        invalidations.invalidateAll();
+        if (trackingConnection != null) {
+            trackingConnection.invalidateAllStamps();
+        }
+        super.clear();
+        if (negativeCache != null) {
+            negativeCache.invalidateAll();
+        }
+        if (offHeapStore != null) {
+            offHeapStore.invalidateAll();
+        }
+        if (hotKeyDetector != null) {
+            hotKeyDetector.invalidateAll();
+        }
+    }
 
-        // 用于存储获取到的缓存数据
-        Map<String, V> result = new HashMap<>();
-
-        // 尝试从Caffeine缓存中获取
-        Map<String, Object> fromCaffeine = caffeineCache.getAllPresent(cacheKeys);
-        for (Map.Entry<String, Object> entry : fromCaffeine.entrySet()) {
-            if (entry.getValue() != null) {
-                try {
-                    result.put(entry.getKey(), (V) entry.getValue());
-                    log.debug("从Caffeine缓存中获取数据，key: {}", entry.getKey());
-                } catch (ClassCastException e) {
-                    log.warn("类型转换失败，key: {}, value: {}", entry.getKey(), entry.getValue(), e);
-                }
+
+    /**
+     * 写入本节点Caffeine缓存，同时让受保护区域中的旧值失效。
+     * <p>
+     * 空值开启负缓存时只记录到负缓存，否则以{@link NullValue}存入Caffeine；不允许缓存空值时只失效旧值。
+     * 开启堆外存储时，估算大小达到阈值的值序列化后只写入堆外存储。
+     *
+     * @param key        原始key
+     * @param storeValue 存储值，为null时表示key不存在
+     */
+    private void putLocal(Object key, Object storeValue) {
+        Object localKey = localKey(key);
+        if (storeValue == null && (negativeCache != null || !isAllowNullValues())) {
+            super.evict(localKey);
+            if (negativeCache != null) {
+                negativeCache.put(localKey);
+            }
+            if (offHeapStore != null) {
+                offHeapStore.invalidate(localKey);
+            }
+        } else if (offHeapStore != null && storeValue != null && CacheUtils.estimateSize(storeValue) >= offHeapThreshold) {
+            // 堆外存储写入失败时该值不在本地缓存，下次从Redis读取
+            super.evict(localKey);
+            if (negativeCache != null) {
+                negativeCache.invalidate(localKey);
             }
+            offHeapStore.put(localKey, valueSerializer.serialize(storeValue));
+        } else {
+            super.put(localKey, storeValue);
+            if (negativeCache != null) {
+                negativeCache.invalidate(localKey);
+            }
+            if (offHeapStore != null) {
+                offHeapStore.invalidate(localKey);
+            }
+        }
+        if (hotKeyDetector != null) {
+            hotKeyDetector.invalidate(localKey);
         }
+    }
 
-        // 过滤出没有在Caffeine中获取到的key
-        List<String> missedKeys = cacheKeys.stream()
-                .filter(key -> !result.containsKey(key))
-                .collect(Collectors.toList());
 
-        // 如果有未命中的key，则从Redis中获取
-        if (!missedKeys.isEmpty()) {
-            Map<String, V> redisValues = (Map<String, V>) redisTemplate.opsForValue().multiGet(missedKeys);
-            result.putAll(redisValues);
+    /**
+     * 本节点写入后更新本地缓存：先记录一次失效，写入之前读到旧值、尚未回填的读取会撤销回填，不会覆盖本次写入。
+     *
+     * @param key        原始key
+     * @param storeValue 存储值，为null时表示key不存在
+     */
+    private void writeLocal(Object key, Object storeValue) {
+        invalidateStamp(key);
+        putLocal(key, storeValue);
+    }
 
-            // 将从Redis中获取的数据放入Caffeine缓存
-            caffeineCache.putAll(redisValues);
 
-            log.info("从Redis中获取到{}个缓存数据", redisValues.size());
-        }
+    /**
+     * 本地缓存使用的key。Redis key由原始key的字符串形式决定，123L与"123"对应同一个Redis key，
+     * 本地缓存、受保护区域、负缓存、堆外存储、写后缓冲区和失效次数统一使用字符串形式，
+     * 一个Redis key只对应一个本地条目，按字符串id批量删除或广播时不会漏掉以Long为key缓存的条目。
+     *
+     * @param key 原始key
+     * @return 本地缓存的key
+     */
+    private static Object localKey(Object key) {
+        return key instanceof String ? key : key.toString();
+    }
 
-        return result;
+
+    /**
+     * 记录key的一次失效，在失效或写入本地缓存之前调用。
+     * TRACKING模式下本连接的写入和删除不会收到失效推送，同时增加跟踪连接的失效次数。
+     *
+     * @param key 原始key
+     */
+    private void invalidateStamp(Object key) {
+        invalidations.invalidate(localKey(key).hashCode());
+        if (trackingConnection != null) {
+            trackingConnection.invalidate(namespace.rawKey(key));
+        }
     }
 
 
     /**
-     * 批量向缓存中放入数据。
+     * 回填从Redis读到或写入Redis的值。
+     * <p>
+     * 先写入再检查key所在分段在读取期间是否有过失效（TRACKING模式为Redis推送的失效消息，BROADCAST模式为
+     * {@link #evictLocal(Object)}和{@link #clearLocal()}），有则撤销回填；
+     * 失效方先计数再失效本地缓存，两者无论怎样交错都不会留下旧值。
      *
-     * @param map 需要放入的键值对，其中键为缓存的key，值为对应的缓存值。
+     * @param key        原始key
+     * @param rawKey     完整缓存key的字节
+     * @param stamp      读取Redis之前的失效次数，见{@link #fillStamp(Object, byte[])}
+     * @param storeValue 存储值
      */
-    @Override
-    public <V> void batchPut(Map<String, V> map) {
-        log.debug("批量向缓存中放入数据, 数据量: {}", map.size());
+    private void fillLocal(Object key, byte[] rawKey, long stamp, Object storeValue) {
+        putLocal(key, storeValue);
+        if (trackingConnection != null ? trackingConnection.invalidatedSince(rawKey, stamp)
+                : invalidations.invalidatedSince(localKey(key).hashCode(), stamp)) {
+            evictLocal(key);
+        }
+    }
 
-        // 向Caffeine缓存中放入数据
-        caffeineCache.putAll(map);
-
-        // 使用Redis事务向Redis中放入数据
-        redisTemplate.execute(new RedisCallback<Object>() {
-            @Override
-            public Object doInRedis(RedisConnection connection) {
-                connection.multi();
-                map.forEach((key, value) -> {
-                    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
-                    RedisSerializer<V> redisSerializer = (RedisSerializer<V>) redisTemplate.getValueSerializer();
-                    byte[] valueBytes = redisSerializer.serialize(value);
-                    connection.set(keyBytes, valueBytes);
-                });
-                connection.exec();
-                return null;
-            }
-        });
 
-        // 将键添加到布隆过滤器中
-        map.keySet().forEach(bloomFilter::add);
+    /**
+     * 读取Redis之前记录key所在分段的失效次数。
+     *
+     * @param key    原始key
+     * @param rawKey 完整缓存key的字节
+     * @return 失效次数
+     */
+    private long fillStamp(Object key, byte[] rawKey) {
+        return trackingConnection != null ? trackingConnection.stamp(rawKey) : invalidations.stamp(localKey(key).hashCode());
+    }
 
-        // 使用生产者将缓存变化放入队列
-        map.forEach((key, value) -> {
-            CacheChange cacheChange = new CacheChange(CacheChange.EventType.ADD, key, value);
-            cacheDelayedProducer.produce(cacheChange);
-        });
+
+    /**
+     * BROADCAST模式下批量读取Redis之前记录各key的失效次数。
+     *
+     * @param keys 原始key列表
+     * @return 与keys顺序一致的失效次数
+     */
+    private long[] fillStamps(List<?> keys) {
+        long[] stamps = new long[keys.size()];
+        for (int i = 0; i < stamps.length; i++) {
+            stamps[i] = invalidations.stamp(localKey(keys.get(i)).hashCode());
+        }
+        return stamps;
     }
 
 
     /**
-     * 批量从缓存中移除数据。
+     * BROADCAST模式下批量回填之后，撤销读取期间有过失效的key的回填。
      *
-     * @param cacheKeys 需要移除的key列表，这些key对应着要从缓存中移除的数据。
+     * @param keys   原始key列表
+     * @param stamps 读取Redis之前的失效次数，见{@link #fillStamps(List)}
      */
-    @Override
-    public void batchEvict(Collection<String> cacheKeys) {
-        log.debug("批量从缓存中移除数据，keys: {}", cacheKeys);
-
-        // 从Caffeine缓存中移除数据
-        caffeineCache.invalidateAll(cacheKeys);
-
-        // 使用Redis事务确保原子性
-        redisTemplate.execute(new RedisCallback<Object>() {
-            @Override
-            public Object doInRedis(RedisConnection connection) {
-                connection.multi();
-                cacheKeys.forEach(key -> connection.del(key.getBytes(StandardCharsets.UTF_8)));
-                connection.exec();
-                return null;
+    private void evictInvalidated(List<?> keys, long[] stamps) {
+        for (int i = 0; i < stamps.length; i++) {
+            if (invalidations.invalidatedSince(localKey(keys.get(i)).hashCode(), stamps[i])) {
+                evictLocal(keys.get(i));
             }
-        });
+        }
+    }
 
-        // 使用生产者将缓存删除操作放入队列
-        cacheKeys.forEach(key -> {
-            // 为每个缓存键创建删除事件
-            CacheChange cacheChange = new CacheChange(CacheChange.EventType.DELETE, key, null);
-            cacheDelayedProducer.produce(cacheChange);
-        });
+
+    /**
+     * 通知其它节点失效本地缓存。TRACKING模式下由Redis向读过该key的节点推送失效消息，不再广播。
+     *
+     * @param eventType 事件类型
+     * @param key       原始key
+     */
+    private void broadcast(CacheChange.EventType eventType, Object key) {
+        if (trackingConnection == null) {
+            cacheDelayedProducer.produce(new CacheChange(eventType, cacheName, key));
+        }
     }
 
 
     /**
-     * 根据原始 key 转换为完整的缓存 key。
+     * 读取本地缓存（先受保护区域，再Caffeine），并记录一次访问用于热点探测和命中统计。
      *
-     * @param key 原始 key
-     * @return 完整的缓存 key
+     * @param key 原始key
+     * @return 存储值，未命中返回null
      */
-    @Override
-    public String cacheKey(Object key) {
-        log.trace("将原始 key '{}' 转换为完整的缓存 key", key);
+    private Object localLookup(Object key) {
+        Object localKey = localKey(key);
+        if (hotKeyDetector == null) {
+            Object storeValue = peekLocal(localKey);
+            metrics.l1(storeValue != null);
+            return storeValue;
+        }
+        // 在读取之前记录失效次数，读到的值在写入受保护区域前可能已经失效
+        long stamp = hotKeyDetector.stamp(localKey);
+        Object storeValue = peekLocal(localKey);
+        metrics.l1(storeValue != null);
+        hotKeyDetector.record(localKey, storeValue, stamp);
+        return storeValue;
+    }
 
-        // 在这里，根据原始 key 的规则生成完整的缓存 key
-        // 这个方法用于将应用程序中的原始 key 映射到实际用于缓存的 key，以确保缓存数据的唯一性和正确性。
 
-        return cacheNamePrefix + key.toString();
+    /**
+     * 读取本地缓存（先受保护区域，再Caffeine，最后堆外存储和负缓存），不记录访问。
+     *
+     * @param key 原始key
+     * @return 存储值，未命中返回null
+     */
+    private Object peekLocal(Object key) {
+        Object localKey = localKey(key);
+        if (hotKeyDetector != null) {
+            Object storeValue = hotKeyDetector.get(localKey);
+            if (storeValue != null) {
+                return storeValue;
+            }
+        }
+        Object storeValue = super.lookup(localKey);
+        return storeValue != null ? storeValue : peekSecondary(localKey);
     }
 
 
+    /**
+     * 读取Caffeine之外的本地存储：先堆外存储（按需反序列化），再负缓存。
+     *
+     * @param key 原始key
+     * @return 存储值，负缓存命中时为{@link NullValue#INSTANCE}，未命中返回null
+     */
+    private Object peekSecondary(Object key) {
+        if (offHeapStore != null) {
+            byte[] bytes = offHeapStore.get(key);
+            if (bytes != null) {
+                return valueSerializer.deserialize(bytes);
+            }
+        }
+        if (negativeCache != null && negativeCache.contains(key)) {
+            return NullValue.INSTANCE;
+        }
+        return null;
+    }
+
 
     /**
-     * 从Redis中检索缓存值，如果Redis中不存在，则通过提供的回调函数 {@code valueLoader} 加载值，
-     * 并将其存储到Redis和Caffeine缓存中。
+     * 根据指定的键查找缓存值。
      *
-     * @param key 缓存的键。
-     * @param valueLoader 用于加载缓存值的回调函数。
-     * @return 缓存的值，如果无法加载则返回null。
+     * @param key 要查找的键。
+     * @return 缓存中与键关联的值，如果键不存在则返回 null。
      */
-    private <T> T loadFromRedisOrLoadWithLoader(Object key, Callable<T> valueLoader) {
-        log.debug("尝试从Redis中检索缓存值，键: {}", key);
+    @Override
+    protected Object lookup(Object key) {
+        log.debug("尝试查找缓存值，键: {}", key);
 
-        String cacheKey = cacheKey(key);
-        // 使用布隆过滤器检查缓存键是否存在
-        if (!bloomFilter.contains(cacheKey)) {
-            log.debug("Bloom filter检查: 缓存键不存在于布隆过滤器中，键: {}", cacheKey);
+        // 首先从Caffeine缓存中查找
+        log.debug("尝试从Caffeine缓存中查找，键: {}", key);
+        Object value = localLookup(key);
 
-            // 尝试获取Redis分布式锁
-            RLock lock = redisDistributedLock.getLock(cacheKey);
-            try {
-                lock.lock();
-                // 重新检查布隆过滤器以确保在获取锁之前没有其他线程加载缓存
-                if (!bloomFilter.contains(cacheKey)) {
-                    log.debug("获取了Redis分布式锁并重新检查布隆过滤器: 缓存键不存在于布隆过滤器中，键: {}", cacheKey);
-
-                    // 从Redis中获取缓存值
-                    T value = (T) redisTemplate.opsForValue().get(cacheKey);
-                    if (value == null) {
-                        log.debug("在Redis中未找到缓存值，通过加载器加载缓存值，键: {}", cacheKey);
-
-                        // 使用提供的回调函数加载缓存值
-                        try {
-                            value = valueLoader.call();
-                            if (value != null) {
-                                // 存储缓存值到Redis
-                                redisTemplate.opsForValue().set(cacheKey, value);
-                                log.debug("将缓存值存储到Redis，键: {}", cacheKey);
-                            } else {
-                                // 存储特殊的空值以解决缓存穿透问题
-                                redisTemplate.opsForValue().set(cacheKey, NULL_VALUE, NULL_VALUE_EXPIRE_TIME);
-                                log.debug("存储特殊的空值到Redis以解决缓存穿透问题，键: {}", cacheKey);
-                            }
-
-                            // 将缓存键添加到布隆过滤器中
-                            bloomFilter.add(cacheKey);
-                            log.debug("将缓存键添加到布隆过滤器中，键: {}", cacheKey);
-
-                            // 存储缓存值到Caffeine缓存
-                            super.put(key, value);
-                            log.debug("将缓存值存储到Caffeine缓存，键: {}", key);
-                        } catch (Exception e) {
-                            log.error("加载缓存值失败，键: {}", cacheKey, e);
-                            throw new RuntimeException("加载缓存值失败，键: " + cacheKey, e);
-                        }
-                    } else if (NULL_VALUE.equals(value)) {
-                        // 如果是特殊的空值，则返回null
-                        value = null;
-                    } else {
-                        // 存储缓存值到Caffeine缓存
-                        super.put(key, value);
-                        log.debug("从Redis中获取到缓存值并存储到Caffeine缓存，键: {}", key);
-                    }
-                } else {
-                    log.debug("Redis分布式锁获取后，缓存键已存在于布隆过滤器中，可能有其他线程加载，键: {}", cacheKey);
-                }
-            } finally {
-                lock.unlock();
+        if (value != null) {
+            log.debug("从Caffeine缓存中找到值，键: {}", key);
+            Object fresh = freshValue(key, value, refreshLoader(key));
+            if (fresh != null) {
+                return fresh;
+            }
+            // 超过最大陈旧时长，视为未命中
+        }
+
+        // 等待写入的值比Redis中的新
+        Object pending = pendingWrite(key);
+        if (pending != null) {
+            return NULL_VALUE.equals(pending) ? (isAllowNullValues() ? NullValue.INSTANCE : null) : fromCacheValue(pending);
+        }
+
+        // 如果在Caffeine缓存中找不到，尝试从Redis中查找
+        log.debug("尝试从Redis缓存中查找，键: {}", key);
+        byte[] rawKey = namespace.rawKey(key);
+        long stamp = fillStamp(key, rawKey);
+        value = getFromRedis(rawKey);
+        metrics.l2(value != null);
+
+        if (NULL_VALUE.equals(value)) {
+            log.debug("Redis中为防穿透的空值，键: {}", key);
+            fillLocal(key, rawKey, stamp, null);
+            value = isAllowNullValues() ? NullValue.INSTANCE : null;
+        } else if (value != null) {
+            log.debug("从Redis缓存中找到值，键: {}", key);
+
+            // 回填Caffeine缓存，超过最大陈旧时长的值视为未命中，不回填
+            Object fresh = freshValue(key, value, refreshLoader(key));
+            if (fresh != null) {
+                fillLocal(key, rawKey, stamp, value);
             }
+            value = fresh;
         } else {
-            log.debug("缓存键已存在于布隆过滤器中，可能有其他线程加载，键: {}", cacheKey);
+            log.debug("在任何缓存中都找不到值，键: {}", key);
+        }
+
+        return value;
+    }
+
+
+    /**
+     * 批量从缓存中获取数据。首先从Caffeine缓存中获取，如果某些键没有命中，则进一步从Redis中获取。
+     * <p>
+     * Redis部分使用非事务的Redisson批处理：每个命令按key所在的槽路由到对应主节点，
+     * 同一节点的命令合并为一次pipeline，各节点并行执行，集群模式下不会出现CROSSSLOT错误，
+     * 总耗时约为每个节点一次往返。
+     *
+     * @param keys 原始key列表
+     * @return 缓存的键值对，其中键为原始key，值为对应的缓存值；不存在或为空值的key不包含在结果中。
+     */
+    @Override
+    public <V> Map<String, V> batchGet(List<String> keys) {
+        return join(batchGetAsync(keys));
+    }
+
+
+    /**
+     * 异步查询缓存。Caffeine命中时返回已完成的Future，否则通过Redisson异步读取Redis并回填Caffeine。
+     *
+     * @param key 原始key
+     * @return 缓存的值，不存在时为null
+     */
+    @Override
+    public <V> CompletableFuture<V> getAsync(Object key) {
+        log.debug("异步获取缓存值，键: {}", key);
+
+        // 本地缓存命中（包括缓存的空值）时同步完成
+        Object storeValue = localLookup(key);
+        Object value = getLocalValue(key, storeValue, refreshLoader(key));
+        if (value != null || storeValue instanceof NullValue) {
+            return CompletableFuture.completedFuture((V) value);
+        }
+        Object pending = pendingWrite(key);
+        if (pending != null) {
+            return CompletableFuture.completedFuture(NULL_VALUE.equals(pending) ? null : (V) fromCacheValue(pending));
         }
 
-        // 获取或重新加载缓存值后返回
-        T cachedValue = (T) super.get(key);
-        log.debug("加载或重新加载缓存值完成，键: {}，值: {}", key, cachedValue);
-        return cachedValue;
+        // TRACKING模式通过跟踪连接读取，读过的key才会收到失效消息
+        byte[] rawKey = namespace.rawKey(key);
+        long stamp = fillStamp(key, rawKey);
+        long start = System.nanoTime();
+        CompletableFuture<Object> found = trackingConnection != null
+                ? trackingConnection.getAsync(rawKey).thenApply(this::deserialize)
+                : redissonClient.getBucket(new String(rawKey, StandardCharsets.UTF_8), codec).getAsync().toCompletableFuture();
+        return found.thenApply(cacheValue -> {
+            metrics.redis(CacheMetrics.RedisOperation.GET, start);
+            metrics.l2(cacheValue != null);
+            if (cacheValue == null) {
+                return null;
+            }
+            if (NULL_VALUE.equals(cacheValue)) {
+                fillLocal(key, rawKey, stamp, null);
+                return null;
+            }
+            Object fresh = freshValue(key, cacheValue, refreshLoader(key));
+            if (fresh != null) {
+                fillLocal(key, rawKey, stamp, cacheValue);
+            }
+            return (V) fresh;
+        });
+    }
+
+
+    /**
+     * 异步批量查询缓存。Caffeine命中部分立即得到，未命中部分通过一次非事务批处理从Redis读取。
+     *
+     * @param keys 原始key列表
+     * @return 缓存的键值对，其中键为原始key；不存在或为空值的key不包含在结果中。
+     */
+    @Override
+    public <V> CompletableFuture<Map<String, V>> batchGetAsync(List<String> keys) {
+        return batchGetAsync(keys, false);
+    }
+
+
+    /**
+     * 批量查询缓存，缓存了空值的key同样视为命中。
+     *
+     * @param keys 原始key列表
+     * @return 命中的键值对，其中键为原始key；缓存了空值的key对应的值为null，未命中的key不包含在结果中。
+     */
+    @Override
+    public <V> Map<String, V> batchLookup(List<String> keys) {
+        return join(batchGetAsync(keys, true));
+    }
+
+
+    /**
+     * 批量查询缓存的实现。
+     *
+     * @param keys         原始key列表
+     * @param includeNulls 结果中是否包含缓存了空值的key（值为null）
+     * @return 缓存的键值对，其中键为原始key
+     */
+    private <V> CompletableFuture<Map<String, V>> batchGetAsync(List<String> keys, boolean includeNulls) {
+        log.debug("批量获取缓存数据，keys: {}", keys);
+        metrics.batchSize(CacheMetrics.BatchOperation.GET, keys.size());
+
+        // 用于存储获取到的缓存数据
+        Map<String, V> result = new HashMap<>(keys.size() * 4 / 3 + 1);
+
+        // 尝试从Caffeine缓存中获取，超过最大陈旧时长的值视为未命中
+        Set<Object> hitKeys = new HashSet<>();
+        caffeineCache.getAllPresent(keys).forEach((key, storeValue) -> {
+            Object fresh = freshValue(key, storeValue, refreshLoader(key));
+            if (fresh == null) {
+                return;
+            }
+            hitKeys.add(key);
+            Object value = fromStoreValue(fresh);
+            if (value != null || includeNulls) {
+                result.put((String) key, (V) value);
+            }
+        });
+
+        // 过滤出没有在Caffeine中获取到的key，堆外存储和负缓存中的key同样视为本地命中
+        List<String> missedKeys = keys.stream()
+                .filter(key -> !hitKeys.contains(key))
+                .distinct()
+                .collect(Collectors.toList());
+        int localHits = hitKeys.size();
+        if (offHeapStore != null || negativeCache != null) {
+            int candidates = missedKeys.size();
+            missedKeys.removeIf(key -> {
+                Object storeValue = peekSecondary(key);
+                Object fresh = storeValue == null ? null : freshValue(key, storeValue, refreshLoader(key));
+                if (fresh == null) {
+                    return false;
+                }
+                Object value = fromStoreValue(fresh);
+                if (value != null || includeNulls) {
+                    result.put(key, (V) value);
+                }
+                return true;
+            });
+            localHits += candidates - missedKeys.size();
+        }
+        metrics.l1(localHits, missedKeys.size());
+        if (missedKeys.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+
+        // 如果有未命中的key，则从Redis中获取：TRACKING模式通过跟踪连接MGET并逐个回填，否则按节点pipeline
+        long start = System.nanoTime();
+        long[] stamps = trackingConnection == null ? fillStamps(missedKeys) : null;
+        CompletableFuture<Map<String, Object>> found = trackingConnection != null
+                ? trackedBatchGet(missedKeys) : pipelinedBatchGet(missedKeys);
+        return found.thenApply(values -> {
+            metrics.redis(CacheMetrics.RedisOperation.BATCH_GET, start);
+            Map<Object, Object> fromRedis = new HashMap<>(values.size() * 4 / 3 + 1);
+            int[] nulls = new int[1];
+            values.forEach((key, value) -> {
+                if (NULL_VALUE.equals(value)) {
+                    nulls[0]++;
+                    if (includeNulls) {
+                        result.put(key, null);
+                    }
+                    if (trackingConnection == null && negativeCache != null) {
+                        negativeCache.put(key);
+                    }
+                } else if (value != null) {
+                    // 超过最大陈旧时长的值视为未命中，不回填
+                    Object fresh = freshValue(key, value, refreshLoader(key));
+                    if (fresh != null) {
+                        fromRedis.put(key, value);
+                        result.put(key, (V) fresh);
+                    }
+                }
+            });
+
+            // 将从Redis中获取的数据放入Caffeine缓存
+            if (trackingConnection == null) {
+                if (offHeapStore != null) {
+                    fromRedis.forEach(this::putLocal);
+                } else {
+                    caffeineCache.putAll(fromRedis);
+                }
+                evictInvalidated(missedKeys, stamps);
+            }
+            metrics.l2(fromRedis.size() + nulls[0], missedKeys.size() - fromRedis.size() - nulls[0]);
+
+            log.debug("从Redis中获取到{}个缓存数据，未命中{}个", fromRedis.size(), missedKeys.size() - fromRedis.size());
+            return result;
+        });
+    }
+
+
+    /**
+     * 按Caffeine的淘汰策略取最可能被保留（访问频率最高）的key，保存热点快照时使用。
+     * 不限制容量的本地缓存没有淘汰顺序，取任意limit个key。
+     *
+     * @param limit 最多返回的key数
+     * @return 原始key，从热到冷排列
+     */
+    public List<Object> hottestKeys(int limit) {
+        return caffeineCache.policy().eviction()
+                .map(eviction -> (List<Object>) new ArrayList<>(eviction.hottest(limit).keySet()))
+                .orElseGet(() -> caffeineCache.asMap().keySet().stream().limit(limit).collect(Collectors.toList()));
+    }
+
+
+    /**
+     * 预热本地缓存：按批pipeline读取Redis（TRACKING模式通过跟踪连接MGET），存在的值回填本地缓存。
+     *
+     * @param keys      原始key
+     * @param batchSize 每批读取的key数
+     * @return Redis中存在（含空值）并已回填的key数
+     */
+    public int warmUp(List<Object> keys, int batchSize) {
+        int loaded = 0;
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            List<Object> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+            long[] stamps = trackingConnection == null ? fillStamps(batch) : null;
+            long start = System.nanoTime();
+            Map<Object, Object> values = join(trackingConnection != null ? trackedBatchGet(batch) : pipelinedBatchGet(batch));
+            metrics.redis(CacheMetrics.RedisOperation.BATCH_GET, start);
+
+            for (Map.Entry<Object, Object> entry : values.entrySet()) {
+                Object value = entry.getValue();
+                if (value == null) {
+                    continue;
+                }
+                loaded++;
+                // TRACKING模式下跟踪连接读取时已回填
+                if (trackingConnection == null && !pastMaxStaleness(value)) {
+                    putLocal(entry.getKey(), NULL_VALUE.equals(value) ? null : value);
+                }
+            }
+            if (stamps != null) {
+                evictInvalidated(batch, stamps);
+            }
+        }
+        log.debug("预热本地缓存，缓存: {}，key数: {}，已回填: {}", cacheName, keys.size(), loaded);
+        return loaded;
+    }
+
+
+    /**
+     * 写后模式下放入一次写入并更新本地缓存。
+     *
+     * @param key   原始key
+     * @param value 缓存值，为null时写入防穿透的空值
+     * @return 是否放入缓冲区，缓冲区已满时返回false
+     */
+    private boolean putBehind(Object key, Object value) {
+        Object cacheValue = value == null ? null : toCacheValue(value);
+        if (!writeBehind.offer(localKey(key), cacheValue == null ? NULL_VALUE : cacheValue)) {
+            return false;
+        }
+
+        // TRACKING模式下批量写入的key不会被跟踪，只失效本地旧值，写入前的读取由缓冲区提供
+        if (trackingConnection != null) {
+            evictLocal(key);
+        } else {
+            writeLocal(key, cacheValue);
+        }
+        return true;
+    }
+
+
+    /**
+     * 获取写后缓冲区中等待写入的存储值。
+     *
+     * @param key 原始key
+     * @return 存储值，空值为{@link #NULL_VALUE}，没有等待写入的值时返回null
+     */
+    private Object pendingWrite(Object key) {
+        return writeBehind == null ? null : writeBehind.get(localKey(key));
+    }
+
+
+    /**
+     * 将写后缓冲区中的一批值在一次非事务批处理中写入Redis，失败时抛出异常，值留在缓冲区等待下次写入。
+     *
+     * @param writes 原始key到存储值的映射，空值为{@link #NULL_VALUE}
+     */
+    private void flushWriteBehind(Map<Object, Object> writes) {
+        metrics.batchSize(CacheMetrics.BatchOperation.PUT, writes.size());
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+                .executionMode(BatchOptions.ExecutionMode.IN_MEMORY)
+                .skipResult());
+        writes.forEach((key, cacheValue) -> {
+            String cacheKey = cacheKey(key);
+            long ttl = NULL_VALUE.equals(cacheValue) ? redisExpirePolicy.nullValueExpireMillis(cacheName) : redisTtlMillis(cacheValue);
+            batch.getBucket(cacheKey, codec).setAsync(cacheValue, ttl, TimeUnit.MILLISECONDS);
+            bloomFilter.add(batch, cacheKey);
+        });
+        long start = System.nanoTime();
+        batch.execute();
+        metrics.redis(CacheMetrics.RedisOperation.BATCH_PUT, start);
+    }
+
+    /**
+     * 写后缓冲区写入Redis成功后，广播让其它节点失效本地缓存。
+     *
+     * @param keys 已写入的原始key
+     */
+    private void broadcastWritten(Set<Object> keys) {
+        keys.forEach(key -> broadcast(CacheChange.EventType.ADD, key));
+    }
+
+
+    /**
+     * 按节点pipeline从Redis读取多个key。
+     *
+     * @param keys 原始key列表
+     * @return 原始key到存储值的映射，不存在的key值为null
+     */
+    private <K> CompletableFuture<Map<K, Object>> pipelinedBatchGet(List<K> keys) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().executionMode(BatchOptions.ExecutionMode.IN_MEMORY));
+        Map<K, RFuture<Object>> futures = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+        keys.forEach(key -> futures.put(key, batch.getBucket(cacheKey(key), codec).getAsync()));
+
+        return batch.executeAsync().toCompletableFuture().thenApply(batchResult -> {
+            Map<K, Object> values = new HashMap<>(futures.size() * 4 / 3 + 1);
+            futures.forEach((key, future) -> values.put(key, future.getNow()));
+            return values;
+        });
+    }
+
+
+    /**
+     * 通过跟踪连接一次MGET读取多个key，并将存在的值回填本地缓存。
+     *
+     * @param keys 原始key列表
+     * @return 原始key到存储值的映射，不存在的key值为null
+     */
+    private <K> CompletableFuture<Map<K, Object>> trackedBatchGet(List<K> keys) {
+        byte[][] rawKeys = new byte[keys.size()][];
+        long[] stamps = new long[keys.size()];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = namespace.rawKey(keys.get(i));
+            stamps[i] = trackingConnection.stamp(rawKeys[i]);
+        }
+
+        return trackingConnection.mget(rawKeys).thenApply(rawValues -> {
+            Map<K, Object> values = new HashMap<>(rawKeys.length * 4 / 3 + 1);
+            for (int i = 0; i < rawKeys.length; i++) {
+                Object value = deserialize(rawValues.get(i));
+                values.put(keys.get(i), value);
+                if (value != null && !pastMaxStaleness(value)) {
+                    fillLocal(keys.get(i), rawKeys[i], stamps[i], NULL_VALUE.equals(value) ? null : value);
+                }
+            }
+            return values;
+        });
+    }
+
+
+    /**
+     * 异步向缓存中添加或更新值。Caffeine立即更新，值、过期时间和布隆过滤器置位在一次批处理中异步写入Redis，
+     * 写入完成后通知其它节点失效本地缓存。
+     *
+     * @param key   原始key
+     * @param value 缓存值
+     * @return 写入结果
+     */
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        log.debug("异步向缓存中添加或更新值，键: {}", key);
+
+        // 丢弃等待写入的旧值，避免覆盖本次写入
+        if (writeBehind != null) {
+            writeBehind.discard(localKey(key));
+        }
+
+        String cacheKey = cacheKey(key);
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+                .executionMode(BatchOptions.ExecutionMode.IN_MEMORY)
+                .skipResult());
+        // 空值与同步版本一致：写入特殊的空值，本地记录为空值
+        Object cacheValue = value == null ? null : toCacheValue(value);
+        if (trackingConnection != null) {
+            // 经Redisson写入的key不会被跟踪，只失效本地旧值，下次读取时再回填
+            evictLocal(key);
+        } else {
+            writeLocal(key, cacheValue);
+        }
+        long stamp = invalidations.stamp(localKey(key).hashCode());
+        if (cacheValue == null) {
+            batch.getBucket(cacheKey, codec).setAsync(NULL_VALUE, redisExpirePolicy.nullValueExpireMillis(cacheName), TimeUnit.MILLISECONDS);
+        } else {
+            batch.getBucket(cacheKey, codec).setAsync(cacheValue, redisTtlMillis(cacheValue), TimeUnit.MILLISECONDS);
+            bloomFilter.add(batch, cacheKey);
+        }
+
+        long start = System.nanoTime();
+        return batch.executeAsync().toCompletableFuture().thenAccept(batchResult -> {
+            metrics.redis(CacheMetrics.RedisOperation.SET, start);
+            if (trackingConnection == null) {
+                // 写入Redis之前读到旧值的回填可能已在本地写入之后完成，写入完成后再记录一次失效并回填本次的值；
+                // 期间有其它失效（包括本节点更新的写入）时撤销回填
+                invalidateStamp(key);
+                fillLocal(key, null, stamp + 1, cacheValue);
+            }
+            broadcast(CacheChange.EventType.ADD, key);
+        });
+    }
+
+
+    /**
+     * 批量向缓存中放入数据。
+     * <p>
+     * 值写入、过期时间和布隆过滤器的置位放在同一个非事务批处理中，按节点pipeline并行执行。
+     * 值为null的key写入防穿透的空值，过期时间与单个写入的空值一致。
+     *
+     * @param map 需要放入的键值对，其中键为原始key，值为对应的缓存值。
+     */
+    @Override
+    public <V> void batchPut(Map<String, V> map) {
+        log.debug("批量向缓存中放入数据, 数据量: {}", map.size());
+        metrics.batchSize(CacheMetrics.BatchOperation.PUT, map.size());
+
+        // 丢弃等待写入的旧值，避免覆盖本次写入
+        if (writeBehind != null) {
+            writeBehind.discardAll(map.keySet());
+        }
+
+        // 同一批写入的过期时间在区间内均匀分散，避免预热的key同时过期
+        long[] expires = redisExpirePolicy.expireMillis(cacheName, map.size());
+        Map<Object, Object> cacheValues = new HashMap<>(map.size() * 4 / 3 + 1);
+        Map<Object, Long> cacheExpires = new HashMap<>(map.size() * 4 / 3 + 1);
+        List<String> nullKeys = new ArrayList<>();
+        int position = 0;
+        for (Map.Entry<String, V> entry : map.entrySet()) {
+            long expire = expires[position++];
+            if (entry.getValue() == null) {
+                nullKeys.add(entry.getKey());
+                continue;
+            }
+            cacheValues.put(entry.getKey(), toCacheValue(entry.getValue(), expire));
+            cacheExpires.put(entry.getKey(), expire);
+        }
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+                .executionMode(BatchOptions.ExecutionMode.IN_MEMORY)
+                .skipResult());
+        cacheValues.forEach((key, cacheValue) -> {
+            String cacheKey = cacheKey(key);
+            batch.getBucket(cacheKey, codec).setAsync(cacheValue, redisTtlMillis(cacheValue, cacheExpires.get(key)), TimeUnit.MILLISECONDS);
+
+            // 将键添加到布隆过滤器中
+            bloomFilter.add(batch, cacheKey);
+        });
+        nullKeys.forEach(key -> {
+            String cacheKey = cacheKey(key);
+            batch.getBucket(cacheKey, codec).setAsync(NULL_VALUE, redisExpirePolicy.nullValueExpireMillis(cacheName), TimeUnit.MILLISECONDS);
+            bloomFilter.add(batch, cacheKey);
+        });
+        long start = System.nanoTime();
+        batch.execute();
+        metrics.redis(CacheMetrics.RedisOperation.BATCH_PUT, start);
+
+        // Redis写入完成后更新Caffeine缓存，先记录失效，写入之前读到旧值的回填不会覆盖本次写入
+        if (trackingConnection != null) {
+            // 经Redisson写入的key不会被跟踪，只失效本地旧值，下次读取时再回填
+            map.keySet().forEach(this::evictLocal);
+        } else {
+            cacheValues.forEach(this::writeLocal);
+            nullKeys.forEach(key -> writeLocal(key, null));
+        }
+
+        // 使用生产者将缓存变化放入队列
+        map.keySet().forEach(key -> broadcast(CacheChange.EventType.ADD, key));
+    }
+
+
+    /**
+     * 批量从缓存中移除数据。
+     * <p>
+     * 删除命令按节点pipeline并行执行，不使用事务，集群模式下不会出现CROSSSLOT错误。
+     *
+     * @param keys 需要移除的原始key列表，这些key对应着要从缓存中移除的数据。
+     */
+    @Override
+    public void batchEvict(Collection<String> keys) {
+        join(batchEvictAsync(keys));
+    }
+
+
+    /**
+     * 异步批量从缓存中移除数据。Caffeine立即移除，Redis删除完成后再移除一次并通知其它节点失效本地缓存。
+     *
+     * @param keys 需要移除的原始key列表
+     * @return 删除结果
+     */
+    @Override
+    public CompletableFuture<Void> batchEvictAsync(Collection<String> keys) {
+        log.debug("批量从缓存中移除数据，keys: {}", keys);
+        metrics.batchSize(CacheMetrics.BatchOperation.EVICT, keys.size());
+
+        // 从Caffeine缓存中移除数据，并丢弃等待写入的值
+        keys.forEach(this::evictLocal);
+        if (writeBehind != null) {
+            writeBehind.discardAll(keys);
+        }
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+                .executionMode(BatchOptions.ExecutionMode.IN_MEMORY)
+                .skipResult());
+        keys.forEach(key -> batch.getBucket(cacheKey(key)).deleteAsync());
+
+        long start = System.nanoTime();
+        return batch.executeAsync().toCompletableFuture().thenAccept(batchResult -> {
+            metrics.redis(CacheMetrics.RedisOperation.BATCH_DELETE, start);
+            // 删除之前读到旧值的回填可能已经完成，删除后再失效一次，与evict一致
+            keys.forEach(this::evictLocal);
+            // 使用生产者将缓存删除操作放入队列
+            keys.forEach(key -> broadcast(CacheChange.EventType.DELETE, key));
+        });
+    }
+
+
+    /**
+     * 批量重新加载本地缓存条目，供{@link com.yueerba.framework.cache.refresh.RefreshAheadCacheLoader}提前刷新使用。
+     * <p>
+     * 先用一次MGET从Redis读取全部key；Redis中已丢失的key，使用最近一次记录的加载器在刷新线程池中回源并写回Redis。
+     * 没有加载器或回源失败的key不出现在结果中，对应的本地条目会被移除，下次访问时同步加载。
+     *
+     * @param keys     原始key
+     * @param executor 回源使用的线程池
+     * @return 新的存储值，键为原始key
+     */
+    public CompletableFuture<Map<Object, Object>> reloadAll(Collection<Object> keys, Executor executor) {
+        Map<String, Object> cacheKeys = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+        keys.forEach(key -> cacheKeys.put(cacheKey(key), key));
+
+        // TRACKING模式通过跟踪连接读取，刷新期间收到失效消息时Caffeine会丢弃刷新结果
+        long start = System.nanoTime();
+        CompletableFuture<Map<String, Object>> found = trackingConnection != null
+                ? trackedMultiGet(cacheKeys.keySet())
+                : redissonClient.getBuckets(codec).<Object>getAsync(cacheKeys.keySet().toArray(new String[0])).toCompletableFuture();
+        return found.thenCompose(values -> {
+            metrics.redis(CacheMetrics.RedisOperation.BATCH_GET, start);
+            Map<Object, Object> result = new HashMap<>(cacheKeys.size() * 4 / 3 + 1);
+            Map<String, Object> lost = new LinkedHashMap<>();
+            cacheKeys.forEach((cacheKey, key) -> {
+                Object cacheValue = values.get(cacheKey);
+                if (cacheValue == null) {
+                    lost.put(cacheKey, key);
+                } else if (!NULL_VALUE.equals(cacheValue)) {
+                    result.put(key, cacheValue);
+                } else if (isAllowNullValues()) {
+                    result.put(key, NullValue.INSTANCE);
+                }
+            });
+            if (lost.isEmpty() || refreshLoaders == null) {
+                return CompletableFuture.completedFuture(result);
+            }
+
+            try {
+                return CompletableFuture.supplyAsync(() -> {
+                    lost.forEach((cacheKey, key) -> reloadWithLoader(key, cacheKey, result));
+                    return result;
+                }, executor);
+            } catch (RejectedExecutionException e) {
+                log.debug("提前刷新线程池已满，放弃回源，缓存: {}，数量: {}", cacheName, lost.size());
+                return CompletableFuture.completedFuture(result);
+            }
+        });
+    }
+
+
+    /**
+     * 通过跟踪连接一次MGET读取多个完整缓存key。
+     *
+     * @param cacheKeys 完整缓存key
+     * @return 完整缓存key到存储值的映射，不存在的key不包含在结果中
+     */
+    private CompletableFuture<Map<String, Object>> trackedMultiGet(Collection<String> cacheKeys) {
+        List<String> names = new ArrayList<>(cacheKeys);
+        byte[][] rawKeys = new byte[names.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+
+        return trackingConnection.mget(rawKeys).thenApply(rawValues -> {
+            Map<String, Object> values = new HashMap<>(rawKeys.length * 4 / 3 + 1);
+            for (int i = 0; i < rawKeys.length; i++) {
+                if (rawValues.get(i) != null) {
+                    values.put(names.get(i), deserialize(rawValues.get(i)));
+                }
+            }
+            return values;
+        });
+    }
+
+
+    /**
+     * 使用记录的加载器回源一个key，成功后写回Redis并放入结果。
+     *
+     * @param key      原始key
+     * @param cacheKey 完整的缓存key
+     * @param result   结果
+     */
+    private void reloadWithLoader(Object key, String cacheKey, Map<Object, Object> result) {
+        Callable<?> valueLoader = refreshLoaders.getIfPresent(key);
+        if (valueLoader == null) {
+            return;
+        }
+
+        try {
+            Object value = metrics.load(valueLoader);
+            if (value == null) {
+                return;
+            }
+            Object cacheValue = toCacheValue(value);
+            byte[] rawKey = cacheKey.getBytes(StandardCharsets.UTF_8);
+            boolean stored = setToRedis(rawKey, cacheValue);
+            bloomFilter.add(rawKey);
+            if (stored) {
+                result.put(key, cacheValue);
+            }
+        } catch (Exception e) {
+            log.warn("提前刷新回源失败，键: {}", cacheKey, e);
+        }
+    }
+
+
+    /**
+     * 根据原始 key 转换为完整的缓存 key。
+     *
+     * @param key 原始 key
+     * @return 完整的缓存 key
+     */
+    @Override
+    public String cacheKey(Object key) {
+        log.trace("将原始 key '{}' 转换为完整的缓存 key", key);
+
+        // 在这里，根据原始 key 的规则生成完整的缓存 key
+        // 这个方法用于将应用程序中的原始 key 映射到实际用于缓存的 key，以确保缓存数据的唯一性和正确性。
+
+        return namespace.cacheKey(key);
+    }
+
+
+    /**
+     * 同步等待异步结果，Redis异常原样抛出。
+     *
+     * @param future 异步结果
+     * @return 结果
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+
+    /**
+     * 分布式锁使用的key，见{@link CacheNamespace#lockKey(Object)}。
+     *
+     * @param key 原始key
+     * @return 锁key
+     */
+    private String lockKey(Object key) {
+        return namespace.lockKey(key);
+    }
+
+
+    /**
+     * 从Caffeine缓存中获取可直接返回的值。
+     * <p>
+     * 开启逻辑过期模式时：未过期直接返回；已过期但在最大陈旧时长内，返回旧值并提交后台刷新；
+     * 超过最大陈旧时长视为未命中。
+     *
+     * @param key         原始key
+     * @param storeValue  本地存储值
+     * @param valueLoader 后台刷新使用的加载器，为null时不刷新
+     * @return 缓存值，未命中返回null
+     */
+    private Object getLocalValue(Object key, Object storeValue, Callable<?> valueLoader) {
+        return fromStoreValue(freshValue(key, storeValue, valueLoader));
+    }
+
+
+    /**
+     * 按逻辑过期规则取出存储值中可以返回的值，规则与{@link #getLocalValue}相同，
+     * 本地缓存和Redis读到的值都经过这里，超过最大陈旧时长的值不会被返回或回填。
+     *
+     * @param key         原始key
+     * @param cacheValue  存储值
+     * @param valueLoader 后台刷新使用的加载器，为null时不刷新
+     * @return 可返回的存储值（空值为{@link NullValue}），不存在或超过最大陈旧时长时返回null
+     */
+    private Object freshValue(Object key, Object cacheValue, Callable<?> valueLoader) {
+        if (!(cacheValue instanceof LogicalExpireValue)) {
+            return cacheValue;
+        }
+
+        LogicalExpireValue expireValue = (LogicalExpireValue) cacheValue;
+        long now = System.currentTimeMillis();
+        if (!expireValue.isExpired(now)) {
+            return expireValue.getValue();
+        }
+        if (now - expireValue.getExpireTime() < maxStaleness) {
+            log.debug("缓存值已逻辑过期，返回旧值并后台刷新，键: {}", key);
+            cacheBreakdownProtection.recordStaleServe(cacheName);
+            if (valueLoader != null) {
+                refreshStale(key, valueLoader);
+            }
+            return expireValue.getValue();
+        }
+
+        log.debug("缓存值超过最大陈旧时长，同步加载，键: {}", key);
+        cacheBreakdownProtection.recordStaleExpired(cacheName);
+        return null;
+    }
+
+
+    /**
+     * 存储值是否为超过最大陈旧时长的逻辑过期值，这类值不能回填本地缓存。
+     *
+     * @param cacheValue 存储值
+     * @return 超过最大陈旧时长时返回true
+     */
+    private boolean pastMaxStaleness(Object cacheValue) {
+        return cacheValue instanceof LogicalExpireValue
+                && System.currentTimeMillis() - ((LogicalExpireValue) cacheValue).getExpireTime() >= maxStaleness;
+    }
+
+
+    /**
+     * 查询接口没有加载器，使用{@link #get(Object, Callable)}记录的加载器后台刷新逻辑过期值。
+     *
+     * @param key 原始key
+     * @return 加载器，未记录时返回null
+     */
+    private Callable<?> refreshLoader(Object key) {
+        return refreshLoaders == null ? null : refreshLoaders.getIfPresent(localKey(key));
+    }
+
+
+    /**
+     * 提交逻辑过期值的后台刷新。刷新前先检查Redis，若其它节点已经刷新过则直接回填本地缓存。
+     *
+     * @param key         原始key
+     * @param valueLoader 加载器
+     */
+    private void refreshStale(Object key, Callable<?> valueLoader) {
+        byte[] rawKey = namespace.rawKey(key);
+        String cacheKey = new String(rawKey, StandardCharsets.UTF_8);
+        cacheBreakdownProtection.refreshAsync(cacheName, cacheKey, lockKey(key), () -> {
+            long stamp = fillStamp(key, rawKey);
+            Object current = getFromRedis(rawKey);
+            if (current instanceof LogicalExpireValue
+                    && !((LogicalExpireValue) current).isExpired(System.currentTimeMillis())) {
+                fillLocal(key, rawKey, stamp, current);
+                return null;
+            }
+
+            Object value = metrics.load(valueLoader);
+            if (value == null) {
+                put(key, null);
+                return null;
+            }
+
+            Object cacheValue = toCacheValue(value);
+            storeAndFill(key, rawKey, cacheValue);
+            bloomFilter.add(rawKey);
+            broadcast(CacheChange.EventType.ADD, key);
+            return null;
+        });
+    }
+
+
+    /**
+     * 生成写入Redis和Caffeine的值：开启逻辑过期模式时包装为{@link LogicalExpireValue}。
+     *
+     * @param value 实际缓存值，非null
+     * @return 存储值
+     */
+    private Object toCacheValue(Object value) {
+        return maxStaleness <= 0 ? value : toCacheValue(value, redisTtlMillis());
+    }
+
+
+    /**
+     * 按指定的过期时间生成存储值，批量写入时使用。
+     *
+     * @param value  实际缓存值，非null
+     * @param expire 过期时间（毫秒）
+     * @return 存储值
+     */
+    private Object toCacheValue(Object value, long expire) {
+        if (maxStaleness <= 0) {
+            return value;
+        }
+        return new LogicalExpireValue(value, System.currentTimeMillis() + expire);
+    }
+
+
+    /**
+     * 从存储值中取出实际缓存值。
+     *
+     * @param cacheValue 存储值
+     * @return 实际缓存值
+     */
+    private Object fromCacheValue(Object cacheValue) {
+        if (cacheValue instanceof LogicalExpireValue) {
+            return ((LogicalExpireValue) cacheValue).getValue();
+        }
+        return cacheValue;
+    }
+
+
+    /**
+     * 将存储值写入Redis。逻辑过期值的物理过期时间为逻辑过期时间加上最大陈旧时长，
+     * 保证陈旧值最终会被Redis清理；其它值按{@link RedisExpirePolicy}计算的时间过期。
+     *
+     * @param rawKey     完整缓存key的字节
+     * @param cacheValue 存储值
+     * @return 写入的值能否回填本地缓存，TRACKING模式下写入后有其它客户端写入时为false
+     */
+    private boolean setToRedis(byte[] rawKey, Object cacheValue) {
+        return setToRedis(rawKey, valueSerializer.serialize(cacheValue), redisTtlMillis(cacheValue));
+    }
+
+
+    /**
+     * 将防穿透的空值写入Redis。
+     *
+     * @param rawKey 完整缓存key的字节
+     * @return 写入的空值能否回填本地缓存，TRACKING模式下写入后有其它客户端写入时为false
+     */
+    private boolean setNullToRedis(byte[] rawKey) {
+        return setToRedis(rawKey, valueSerializer.serialize(NULL_VALUE), redisExpirePolicy.nullValueExpireMillis(cacheName));
+    }
+
+
+    /**
+     * 写入序列化后的值，TRACKING模式下通过跟踪连接写入，本节点不会收到自己写入的失效消息。
+     *
+     * @param rawKey   完整缓存key的字节
+     * @param rawValue 序列化后的值
+     * @param ttl      过期时间（毫秒）
+     * @return 写入的值能否回填本地缓存
+     */
+    private boolean setToRedis(byte[] rawKey, byte[] rawValue, long ttl) {
+        long start = System.nanoTime();
+        try {
+            if (trackingConnection != null) {
+                return trackingConnection.set(rawKey, rawValue, ttl);
+            }
+            redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.set(rawKey, rawValue, Expiration.milliseconds(ttl), RedisStringCommands.SetOption.upsert()));
+            return true;
+        } finally {
+            metrics.redis(CacheMetrics.RedisOperation.SET, start);
+        }
+    }
+
+
+    /**
+     * 写入Redis并回填本地缓存，TRACKING模式下写入期间有其它客户端写入时改为失效本地旧值。
+     *
+     * @param key        原始key
+     * @param rawKey     完整缓存key的字节
+     * @param cacheValue 存储值，为null时写入防穿透的空值
+     */
+    private void storeAndFill(Object key, byte[] rawKey, Object cacheValue) {
+        long stamp = fillStamp(key, rawKey);
+        boolean stored = cacheValue == null ? setNullToRedis(rawKey) : setToRedis(rawKey, cacheValue);
+        if (stored) {
+            // 写入后记录一次失效，撤销写入前读到旧值的回填；期间没有其它失效时次数恰好比写入前多一
+            invalidateStamp(key);
+            fillLocal(key, rawKey, stamp + 1, cacheValue);
+        } else {
+            evictLocal(key);
+        }
+    }
+
+
+    /**
+     * 按key字节从Redis读取存储值，key不再经过RedisTemplate的字符串序列化。
+     *
+     * @param rawKey 完整缓存key的字节
+     * @return 存储值，不存在时为null
+     */
+    private Object getFromRedis(byte[] rawKey) {
+        long start = System.nanoTime();
+        byte[] rawValue = trackingConnection != null ? trackingConnection.get(rawKey)
+                : redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.get(rawKey));
+        metrics.redis(CacheMetrics.RedisOperation.GET, start);
+        return deserialize(rawValue);
+    }
+
+
+    /**
+     * 反序列化从Redis读到的值。
+     *
+     * @param rawValue 值的字节
+     * @return 存储值，rawValue为null时为null
+     */
+    private Object deserialize(byte[] rawValue) {
+        return rawValue == null ? null : valueSerializer.deserialize(rawValue);
+    }
+
+
+    /**
+     * 计算存储值在Redis中的物理过期时间（毫秒）。
+     *
+     * @param cacheValue 存储值
+     * @return 过期时间（毫秒）
+     */
+    private long redisTtlMillis(Object cacheValue) {
+        return redisTtlMillis(cacheValue, cacheValue instanceof LogicalExpireValue ? 0 : redisTtlMillis());
+    }
+
+
+    /**
+     * 计算存储值在Redis中的物理过期时间（毫秒）：逻辑过期值为剩余逻辑时间加最大陈旧时长，其它值为{@code expire}。
+     *
+     * @param cacheValue 存储值
+     * @param expire     非逻辑过期值使用的过期时间（毫秒）
+     * @return 过期时间（毫秒）
+     */
+    private long redisTtlMillis(Object cacheValue, long expire) {
+        if (cacheValue instanceof LogicalExpireValue) {
+            long remaining = ((LogicalExpireValue) cacheValue).getExpireTime() - System.currentTimeMillis();
+            return Math.max(1, remaining + maxStaleness);
+        }
+        return expire;
+    }
+
+
+    /**
+     * 按{@link RedisExpirePolicy}计算写入Redis的过期时间（毫秒）。
+     *
+     * @return 过期时间（毫秒）
+     */
+    private long redisTtlMillis() {
+        return redisExpirePolicy.expireMillis(cacheName);
+    }
+
+
+    /**
+     * 等待持有加载锁的节点发布加载结果。
+     * <p>
+     * 先登记等待再读取一次Redis，登记前已完成的加载从Redis读到；通知携带值时直接使用，只有完成信号时读取一次Redis。
+     * 通过通知得到的值没有经跟踪连接读取，TRACKING模式下不回填本地缓存。
+     *
+     * @param key      原始key
+     * @param rawKey   完整缓存key的字节
+     * @param cacheKey 完整缓存key
+     * @return 存储值，空值为{@link #NULL_VALUE}；超时、加载失败或Redis中仍没有可用的值时返回null
+     */
+    private Object awaitLoad(Object key, byte[] rawKey, String cacheKey) {
+        // 通知可能晚于其它节点之后的写入和失效到达，与读取Redis一样在回填前后比较失效次数
+        long stamp = fillStamp(key, rawKey);
+        CompletableFuture<LoadCompletion> completion = loadNotifier.watch(cacheKey);
+        try {
+            Object cacheValue = getUsableFromRedis(key, rawKey);
+            if (cacheValue != null) {
+                return cacheValue;
+            }
+
+            LoadCompletion loaded = loadNotifier.await(completion);
+            if (loaded == null) {
+                return null;
+            }
+            if (loaded.getRawValue() == null) {
+                return getUsableFromRedis(key, rawKey);
+            }
+            cacheValue = deserialize(loaded.getRawValue());
+            metrics.l2(true);
+            if (trackingConnection == null) {
+                fillLocal(key, rawKey, stamp, NULL_VALUE.equals(cacheValue) ? null : cacheValue);
+            }
+            return cacheValue;
+        } finally {
+            loadNotifier.cancel(cacheKey, completion);
+        }
+    }
+
+
+    /**
+     * 读取Redis中可直接使用的值（逻辑过期的值视为不可用），存在时回填本地缓存。
+     *
+     * @param key    原始key
+     * @param rawKey 完整缓存key的字节
+     * @return 存储值，空值为{@link #NULL_VALUE}，不存在或已逻辑过期时返回null
+     */
+    private Object getUsableFromRedis(Object key, byte[] rawKey) {
+        long stamp = fillStamp(key, rawKey);
+        Object cacheValue = getFromRedis(rawKey);
+        if (cacheValue == null || cacheValue instanceof LogicalExpireValue
+                && ((LogicalExpireValue) cacheValue).isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        metrics.l2(true);
+        fillLocal(key, rawKey, stamp, NULL_VALUE.equals(cacheValue) ? null : cacheValue);
+        return cacheValue;
+    }
+
+
+    /**
+     * 从Redis中检索缓存值，如果Redis中不存在，则通过提供的回调函数 {@code valueLoader} 加载值，
+     * 并将其存储到Redis和Caffeine缓存中。
+     *
+     * @param key 缓存的键。
+     * @param valueLoader 用于加载缓存值的回调函数。
+     * @return 缓存的值，如果无法加载则返回null。
+     */
+    private <T> T loadFromRedisOrLoadWithLoader(Object key, Callable<T> valueLoader) {
+        log.debug("尝试从Redis中检索缓存值，键: {}", key);
+
+        // 等待写入的值比Redis中的新
+        Object pending = pendingWrite(key);
+        if (pending != null) {
+            return NULL_VALUE.equals(pending) ? null : (T) fromCacheValue(pending);
+        }
+
+        byte[] rawKey = namespace.rawKey(key);
+        // 本地布隆过滤器镜像认为key可能已写入Redis时，直接读取Redis，命中则无需加锁
+        if (bloomFilter.mightContain(rawKey)) {
+            long stamp = fillStamp(key, rawKey);
+            Object cacheValue = getFromRedis(rawKey);
+            if (cacheValue == null) {
+                metrics.bloomFalsePositive();
+            }
+            if (NULL_VALUE.equals(cacheValue)) {
+                metrics.l2(true);
+                fillLocal(key, rawKey, stamp, null);
+                return null;
+            }
+            Object value = cacheValue == null ? null : getLocalValue(key, cacheValue, valueLoader);
+            if (value != null) {
+                metrics.l2(true);
+                fillLocal(key, rawKey, stamp, cacheValue);
+                log.debug("从Redis中获取到缓存值并存储到Caffeine缓存，键: {}", key);
+                return (T) value;
+            }
+        } else {
+            metrics.bloomNegative();
+            log.debug("布隆过滤器检查: 缓存键不存在于布隆过滤器中，键: {}", key);
+        }
+
+        // 只有需要加锁时才生成字符串形式的缓存key，与rawKey属于同一命名空间代号
+        String cacheKey = new String(rawKey, StandardCharsets.UTF_8);
+
+        // 尝试获取Redis分布式锁；开启加载完成通知时，未抢到锁的线程等待持锁节点发布的结果，超时后再阻塞等待锁
+        RLock lock = redisDistributedLock.getLock(lockKey(key));
+        long lockStart = System.nanoTime();
+        if (loadNotifier != null && !lock.tryLock()) {
+            Object notified = awaitLoad(key, rawKey, cacheKey);
+            if (notified != null) {
+                metrics.lockWait(lockStart);
+                return NULL_VALUE.equals(notified) ? null : (T) fromCacheValue(notified);
+            }
+            lock.lock();
+        } else if (loadNotifier == null) {
+            lock.lock();
+        }
+        metrics.lockWait(lockStart);
+        try {
+            // 等待锁期间其它节点可能已完成加载，且本地镜像存在同步延迟，这里总是以Redis中的值为准
+            long stamp = fillStamp(key, rawKey);
+            Object cacheValue = getFromRedis(rawKey);
+            if (NULL_VALUE.equals(cacheValue)) {
+                metrics.l2(true);
+                fillLocal(key, rawKey, stamp, null);
+                return null;
+            }
+            if (cacheValue != null && !(cacheValue instanceof LogicalExpireValue
+                    && ((LogicalExpireValue) cacheValue).isExpired(System.currentTimeMillis()))) {
+                metrics.l2(true);
+                // 镜像中缺少其它节点写入的key，补充后下次无需加锁
+                bloomFilter.add(rawKey);
+                fillLocal(key, rawKey, stamp, cacheValue);
+                log.debug("获取了Redis分布式锁后在Redis中找到缓存值，键: {}", key);
+                return (T) fromCacheValue(cacheValue);
+            }
+
+            metrics.l2(false);
+            log.debug("在Redis中未找到缓存值，通过加载器加载缓存值，键: {}", cacheKey);
+            T value;
+            try {
+                value = loaderBulkhead == null ? metrics.load(valueLoader) : loaderBulkhead.call(() -> metrics.load(valueLoader));
+            } catch (RejectedExecutionException | TimeoutException e) {
+                if (loadNotifier != null) {
+                    loadNotifier.publish(cacheKey, null);
+                }
+                // 加载线程池已满或加载超时，Redis中有逻辑过期的陈旧值时返回陈旧值，不写回
+                if (cacheValue instanceof LogicalExpireValue) {
+                    log.warn("加载缓存值被拒绝或超时，返回陈旧值，键: {}", cacheKey);
+                    return (T) fromCacheValue(cacheValue);
+                }
+                log.error("加载缓存值被拒绝或超时，键: {}", cacheKey, e);
+                throw new RuntimeException("加载缓存值失败，键: " + cacheKey, e);
+            } catch (Exception e) {
+                log.error("加载缓存值失败，键: {}", cacheKey, e);
+                if (loadNotifier != null) {
+                    loadNotifier.publish(cacheKey, null);
+                }
+                throw new RuntimeException("加载缓存值失败，键: " + cacheKey, e);
+            }
+
+            // 存储缓存值到Redis和Caffeine缓存，值为null时存储特殊的空值以解决缓存穿透问题
+            Object loadedValue = value == null ? null : toCacheValue(value);
+            storeAndFill(key, rawKey, loadedValue);
+            log.debug("将缓存值存储到Redis，键: {}", cacheKey);
+            if (loadNotifier != null) {
+                loadNotifier.publish(cacheKey, valueSerializer.serialize(loadedValue == null ? NULL_VALUE : loadedValue));
+            }
+
+            // 将缓存键添加到布隆过滤器中
+            bloomFilter.add(rawKey);
+            log.debug("加载缓存值完成，键: {}，值: {}", key, value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
     }
 
 }
@@ -0,0 +1,232 @@
+package com.yueerba.framework.cache.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Description: 单个缓存各层级的监控指标
+ * <p>
+ * 命中、未命中和布隆过滤器计数使用{@link LongAdder}累加，热路径上只有一次无竞争的自增，
+ * 由{@link FunctionCounter}在采集时读取；耗时类指标使用带直方图的{@link Timer}，
+ * 可据此判断延迟来自Caffeine、Redis、分布式锁还是加载器。所有指标都带有cache标签。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class CacheMetrics {
+
+    /**
+     * Description: 被统计耗时的Redis操作
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    public enum RedisOperation {
+        GET, SET, DELETE, BATCH_GET, BATCH_PUT, BATCH_DELETE;
+
+        private final String tag = name().toLowerCase();
+    }
+
+    /**
+     * Description: 被统计数量的批量操作
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    public enum BatchOperation {
+        GET, PUT, EVICT;
+
+        private final String tag = name().toLowerCase();
+    }
+
+    private final LongAdder l1Hits = new LongAdder();
+
+    private final LongAdder l1Misses = new LongAdder();
+
+    private final LongAdder l2Hits = new LongAdder();
+
+    private final LongAdder l2Misses = new LongAdder();
+
+    private final LongAdder bloomNegatives = new LongAdder();
+
+    private final LongAdder bloomFalsePositives = new LongAdder();
+
+    private final Timer loadSuccess;
+
+    private final Timer loadFailure;
+
+    private final Timer lockWait;
+
+    private final Map<RedisOperation, Timer> redisTimers = new EnumMap<>(RedisOperation.class);
+
+    private final Map<BatchOperation, DistributionSummary> batchSizes = new EnumMap<>(BatchOperation.class);
+
+    public CacheMetrics(String cacheName, MeterRegistry meterRegistry) {
+        gets(cacheName, "l1", "hit", l1Hits, meterRegistry);
+        gets(cacheName, "l1", "miss", l1Misses, meterRegistry);
+        gets(cacheName, "l2", "hit", l2Hits, meterRegistry);
+        gets(cacheName, "l2", "miss", l2Misses, meterRegistry);
+        FunctionCounter.builder("cache.bloom.filter", bloomNegatives, LongAdder::sum)
+                .description("布隆过滤器判定不存在（跳过Redis读取）和判定存在但Redis中没有的次数")
+                .tag("cache", cacheName)
+                .tag("result", "negative")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.bloom.filter", bloomFalsePositives, LongAdder::sum)
+                .description("布隆过滤器判定不存在（跳过Redis读取）和判定存在但Redis中没有的次数")
+                .tag("cache", cacheName)
+                .tag("result", "false_positive")
+                .register(meterRegistry);
+
+        this.loadSuccess = loadTimer(cacheName, "success", meterRegistry);
+        this.loadFailure = loadTimer(cacheName, "failure", meterRegistry);
+        this.lockWait = Timer.builder("cache.lock.wait")
+                .description("回源前等待Redis分布式锁的耗时")
+                .tag("cache", cacheName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        for (RedisOperation operation : RedisOperation.values()) {
+            redisTimers.put(operation, Timer.builder("cache.redis.time")
+                    .description("Redis调用耗时")
+                    .tag("cache", cacheName)
+                    .tag("operation", operation.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100_000))
+                    .maximumExpectedValue(Duration.ofSeconds(1))
+                    .register(meterRegistry));
+        }
+        for (BatchOperation operation : BatchOperation.values()) {
+            batchSizes.put(operation, DistributionSummary.builder("cache.batch.size")
+                    .description("批量操作的key数量")
+                    .tag("cache", cacheName)
+                    .tag("operation", operation.tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 记录一次本地缓存访问。
+     *
+     * @param hit 是否命中
+     */
+    public void l1(boolean hit) {
+        (hit ? l1Hits : l1Misses).increment();
+    }
+
+    /**
+     * 记录一次批量本地缓存访问。
+     *
+     * @param hits   命中数
+     * @param misses 未命中数
+     */
+    public void l1(int hits, int misses) {
+        l1Hits.add(hits);
+        l1Misses.add(misses);
+    }
+
+    /**
+     * 记录一次Redis缓存访问，缓存的空值视为命中。
+     *
+     * @param hit 是否命中
+     */
+    public void l2(boolean hit) {
+        (hit ? l2Hits : l2Misses).increment();
+    }
+
+    /**
+     * 记录一次批量Redis缓存访问。
+     *
+     * @param hits   命中数
+     * @param misses 未命中数
+     */
+    public void l2(int hits, int misses) {
+        l2Hits.add(hits);
+        l2Misses.add(misses);
+    }
+
+    /**
+     * 记录布隆过滤器判定key不存在。
+     */
+    public void bloomNegative() {
+        bloomNegatives.increment();
+    }
+
+    /**
+     * 记录布隆过滤器判定key可能存在但Redis中没有（误判或已过期）。
+     */
+    public void bloomFalsePositive() {
+        bloomFalsePositives.increment();
+    }
+
+    /**
+     * 执行加载器并记录耗时，成功和失败分开统计。
+     *
+     * @param loader 加载器
+     * @return 加载结果
+     * @throws Exception 加载器抛出的异常
+     */
+    public <T> T load(Callable<T> loader) throws Exception {
+        long start = System.nanoTime();
+        try {
+            T value = loader.call();
+            loadSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return value;
+        } catch (Exception e) {
+            loadFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * 记录等待分布式锁的耗时。
+     *
+     * @param startNanos 开始等待时的{@link System#nanoTime()}
+     */
+    public void lockWait(long startNanos) {
+        lockWait.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次Redis调用的耗时。
+     *
+     * @param operation  操作
+     * @param startNanos 调用开始时的{@link System#nanoTime()}
+     */
+    public void redis(RedisOperation operation, long startNanos) {
+        redisTimers.get(operation).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次批量操作的key数量。
+     *
+     * @param operation 操作
+     * @param size      key数量
+     */
+    public void batchSize(BatchOperation operation, int size) {
+        batchSizes.get(operation).record(size);
+    }
+
+    private static void gets(String cacheName, String tier, String result, LongAdder adder, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("cache.tier.gets", adder, LongAdder::sum)
+                .description("各层级缓存的命中和未命中次数")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer loadTimer(String cacheName, String result, MeterRegistry meterRegistry) {
+        return Timer.builder("cache.load.time")
+                .description("加载器回源耗时")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
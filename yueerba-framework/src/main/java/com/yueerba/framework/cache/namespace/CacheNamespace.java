@@ -0,0 +1,169 @@
+package com.yueerba.framework.cache.namespace;
+
+import com.yueerba.framework.cache.utils.CacheKeyGenerator;
+import org.redisson.api.RAtomicLong;
+
+import static com.yueerba.framework.cache.config.properties.CacheProperties.KEY_SEGMENTATION;
+
+/**
+ * Description: 单个缓存的Redis命名空间
+ * <p>
+ * 缓存在Redis中的key形如{basePrefix}{代号}:{key}，代号保存在Redis计数器{basePrefix}namespace中。
+ * 分布式锁的key形如{basePrefix}lock:{key}，不属于任何代号，清理旧代号时不会删除仍被持有的锁。
+ * 清空缓存只需把代号加一，旧代号下的key不再被访问，由过期时间或后台清理线程回收。
+ * 各节点在本地缓存当前代号，收到清空广播或定时刷新时更新，代号只增不减。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class CacheNamespace {
+
+    /**
+     * 不含代号的key前缀
+     */
+    private final String basePrefix;
+
+    /**
+     * 代号计数器
+     */
+    private final RAtomicLong counter;
+
+    /**
+     * 当前代号及其key前缀，一起替换保证读取一致
+     */
+    private volatile Snapshot snapshot;
+
+    public CacheNamespace(String basePrefix, RAtomicLong counter) {
+        this.basePrefix = basePrefix;
+        this.counter = counter;
+        this.snapshot = new Snapshot(counter.get(), basePrefix);
+    }
+
+    /**
+     * 获取当前代号的key前缀。
+     *
+     * @return key前缀
+     */
+    public String prefix() {
+        return snapshot.prefix;
+    }
+
+    /**
+     * 获取当前代号的key前缀的UTF-8编码，与{@link #prefix()}属于同一代号。
+     *
+     * @return 编码后的key前缀
+     */
+    public byte[] prefixBytes() {
+        return snapshot.prefixBytes;
+    }
+
+    /**
+     * 生成当前代号下的完整缓存key。
+     *
+     * @param key 原始key
+     * @return 完整的缓存key
+     */
+    public String cacheKey(Object key) {
+        return CacheKeyGenerator.cacheKey(snapshot.prefix, key);
+    }
+
+    /**
+     * 生成当前代号下完整缓存key的UTF-8字节。
+     *
+     * @param key 原始key
+     * @return 完整缓存key的字节
+     */
+    public byte[] rawKey(Object key) {
+        return CacheKeyGenerator.rawKey(snapshot.prefixBytes, key);
+    }
+
+    /**
+     * 生成分布式锁的key。锁不随代号切换，清空期间旧代号的加载与新代号的加载使用同一把锁，
+     * 后台清理旧代号时也不会删除正在被持有的锁，释放锁时不会抛出{@link IllegalMonitorStateException}。
+     *
+     * @param key 原始key
+     * @return 锁key
+     */
+    public String lockKey(Object key) {
+        return CacheKeyGenerator.cacheKey(basePrefix + "lock" + KEY_SEGMENTATION, key);
+    }
+
+    /**
+     * 获取当前代号。
+     *
+     * @return 代号
+     */
+    public long generation() {
+        return snapshot.generation;
+    }
+
+    /**
+     * 获取不含代号的key前缀。
+     *
+     * @return key前缀
+     */
+    public String getBasePrefix() {
+        return basePrefix;
+    }
+
+    /**
+     * 获取指定代号的key前缀。
+     *
+     * @param generation 代号
+     * @return key前缀
+     */
+    public String prefix(long generation) {
+        return basePrefix + generation + KEY_SEGMENTATION;
+    }
+
+    /**
+     * 切换到新的代号（一次INCR）。
+     *
+     * @return 新代号
+     */
+    public long increment() {
+        long generation = counter.incrementAndGet();
+        advance(generation);
+        return generation;
+    }
+
+    /**
+     * 从Redis重新读取代号。
+     */
+    public void refresh() {
+        advance(counter.get());
+    }
+
+    /**
+     * 更新到不小于当前值的代号，较小的代号（乱序到达的广播）被忽略。
+     *
+     * @param generation 代号
+     * @return 代号发生变化返回true
+     */
+    public synchronized boolean advance(long generation) {
+        if (generation <= snapshot.generation) {
+            return false;
+        }
+        this.snapshot = new Snapshot(generation, basePrefix);
+        return true;
+    }
+
+    /**
+     * Description: 代号及其key前缀（字符串和编码后的字节）
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    private static class Snapshot {
+
+        private final long generation;
+
+        private final String prefix;
+
+        private final byte[] prefixBytes;
+
+        Snapshot(long generation, String basePrefix) {
+            this.generation = generation;
+            this.prefix = basePrefix + generation + KEY_SEGMENTATION;
+            this.prefixBytes = CacheKeyGenerator.prefixBytes(prefix);
+        }
+    }
+}
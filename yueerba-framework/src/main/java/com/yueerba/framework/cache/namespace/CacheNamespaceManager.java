@@ -0,0 +1,192 @@
+package com.yueerba.framework.cache.namespace;
+
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 缓存命名空间管理
+ * <p>
+ * 为每个缓存创建{@link CacheNamespace}，并在后台线程中：
+ * <ul>
+ *     <li>按refreshInterval重新读取各缓存的代号，弥补丢失的清空广播，代号变化时清空本地缓存；</li>
+ *     <li>清空后用SCAN按代号前缀逐批找出旧key并UNLINK，每sweepInterval最多处理sweepBatchSize个，不阻塞Redis。
+ *     未清理完的旧key（如节点中途停止）依靠写入时设置的过期时间回收。</li>
+ * </ul>
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
+public class CacheNamespaceManager {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    /**
+     * 各缓存的命名空间，key为缓存名称
+     */
+    private final Map<String, CacheNamespace> namespaces = new ConcurrentHashMap<>();
+
+    /**
+     * 代号变化时的回调（清空本地缓存），key为缓存名称
+     */
+    private final Map<String, Runnable> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * 待清理的旧代号，按提交顺序逐个清理
+     */
+    private final Queue<Sweep> sweeps = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 刷新和清理调度线程
+     */
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        CacheProperties.Namespace config = cacheProperties.getNamespace();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-namespace");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshAll,
+                config.getRefreshInterval(), config.getRefreshInterval(), TimeUnit.MILLISECONDS);
+        if (config.isSweepEnabled()) {
+            scheduler.scheduleWithFixedDelay(this::sweepQuietly,
+                    config.getSweepInterval(), config.getSweepInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 为缓存创建命名空间。
+     *
+     * @param cacheName  缓存名称
+     * @param basePrefix 不含代号的key前缀
+     * @param onAdvance  定时刷新发现代号变化时的回调
+     * @return 命名空间
+     */
+    public CacheNamespace create(String cacheName, String basePrefix, Runnable onAdvance) {
+        listeners.put(cacheName, onAdvance);
+        return namespaces.computeIfAbsent(cacheName,
+                name -> new CacheNamespace(basePrefix, redissonClient.getAtomicLong(basePrefix + "namespace")));
+    }
+
+    /**
+     * 提交旧代号的后台清理。
+     *
+     * @param namespace  命名空间
+     * @param generation 旧代号
+     */
+    public void sweep(CacheNamespace namespace, long generation) {
+        if (!cacheProperties.getNamespace().isSweepEnabled()) {
+            return;
+        }
+        sweeps.offer(new Sweep(namespace.prefix(generation) + "*"));
+    }
+
+    /**
+     * 重新读取所有缓存的代号。
+     */
+    private void refreshAll() {
+        namespaces.forEach((cacheName, namespace) -> {
+            try {
+                long generation = namespace.generation();
+                namespace.refresh();
+                if (namespace.generation() != generation) {
+                    log.info("缓存命名空间代号已变化，清空本地缓存，缓存: {}，代号: {}", cacheName, namespace.generation());
+                    listeners.get(cacheName).run();
+                }
+            } catch (Exception e) {
+                log.warn("刷新缓存命名空间代号失败，缓存: {}", cacheName, e);
+            }
+        });
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            log.warn("清理旧命名空间失败", e);
+            // 放弃当前任务，剩余key依靠过期时间回收
+            sweeps.poll();
+        }
+    }
+
+    /**
+     * 处理一批旧key：从队首任务的SCAN游标中取出最多sweepBatchSize个key执行UNLINK。
+     */
+    private void sweep() {
+        Sweep sweep = sweeps.peek();
+        if (sweep == null) {
+            return;
+        }
+
+        int batchSize = cacheProperties.getNamespace().getSweepBatchSize();
+        if (sweep.keys == null) {
+            sweep.keys = redissonClient.getKeys().getKeysByPattern(sweep.pattern, batchSize).iterator();
+        }
+        List<String> keys = new ArrayList<>(batchSize);
+        while (keys.size() < batchSize && sweep.keys.hasNext()) {
+            keys.add(sweep.keys.next());
+        }
+        if (!keys.isEmpty()) {
+            sweep.removed += redissonClient.getKeys().unlink(keys.toArray(new String[0]));
+        }
+        if (!sweep.keys.hasNext()) {
+            sweeps.poll();
+            log.info("旧命名空间清理完成，匹配: {}，删除key数: {}", sweep.pattern, sweep.removed);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Description: 一个旧代号的清理任务
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    private static class Sweep {
+
+        /**
+         * 旧代号key的匹配模式
+         */
+        private final String pattern;
+
+        /**
+         * SCAN游标，首次执行时创建
+         */
+        private Iterator<String> keys;
+
+        /**
+         * 已删除的key数
+         */
+        private long removed;
+
+        Sweep(String pattern) {
+            this.pattern = pattern;
+        }
+    }
+}
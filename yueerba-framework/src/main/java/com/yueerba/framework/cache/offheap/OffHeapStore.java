@@ -0,0 +1,366 @@
+package com.yueerba.framework.cache.offheap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 单个缓存的堆外存储
+ * <p>
+ * 在本地缓存和Redis之间保存序列化后的大值，数据放在直接内存中，不进入老年代：
+ * <ul>
+ *     <li>内存按slabSize大小的块向操作系统申请，所有块的总大小不超过容量；每个块只切分为一种尺寸的槽，
+ *     槽的尺寸为不小于1KB的2的幂，条目按长度向上取整放入对应尺寸的槽，释放的槽放回空闲队列复用；</li>
+ *     <li>索引使用按槽尺寸计权重的Caffeine，由W-TinyLFU决定淘汰哪些条目，淘汰时同步释放槽，过期时间与本地缓存一致；</li>
+ *     <li>读取时在条目上加锁复制出字节，条目被释放后不再读取，槽被复用时不会读到其它条目的数据。</li>
+ * </ul>
+ * 容量用完后没有对应尺寸的空闲槽时，先淘汰同尺寸最冷的条目腾出槽；同尺寸的条目都不在最冷的一批中时，
+ * 清空条目最少的其它尺寸的块，重新切分为需要的尺寸，值的尺寸分布变化后存储不会一直拒绝写入。
+ * 仍然没有可用的槽时放弃写入，该值不在本地缓存，下次从Redis读取。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class OffHeapStore {
+
+    /**
+     * 最小槽尺寸为 2^MIN_SHIFT 字节
+     */
+    private static final int MIN_SHIFT = 10;
+
+    /**
+     * 寻找同尺寸淘汰对象时查看的最冷条目数
+     */
+    private static final int EVICTION_SAMPLE = 64;
+
+    /**
+     * 一次写入最多淘汰的轮数
+     */
+    private static final int MAX_EVICTION_ROUNDS = 4;
+
+    private final long capacity;
+
+    private final int slabSize;
+
+    /**
+     * 已申请的块
+     */
+    private final List<ByteBuffer> slabs = new CopyOnWriteArrayList<>();
+
+    /**
+     * 各尺寸的空闲槽，元素为 块序号 << 32 | 块内偏移，分配和释放都在本对象上加锁
+     */
+    private final Deque<Long>[] freeSlots;
+
+    /**
+     * 各块当前切分的槽尺寸序号
+     */
+    private final int[] slabClasses;
+
+    /**
+     * 各块中正在使用的槽数，为0时块可以重新切分
+     */
+    private final int[] slabUsed;
+
+    /**
+     * 条目索引，权重为槽尺寸
+     */
+    private final Cache<Object, Entry> index;
+
+    private final Counter rejected;
+
+    private volatile long allocated;
+
+    /**
+     * @param cacheName         缓存名称
+     * @param capacity          容量（字节）
+     * @param slabSize          块大小（字节）
+     * @param expireAfterWrite  写入后过期时间（毫秒），不大于0时不过期
+     * @param expireAfterAccess 访问后过期时间（毫秒），不大于0时不过期
+     * @param meterRegistry     指标注册
+     */
+    @SuppressWarnings("unchecked")
+    public OffHeapStore(String cacheName, long capacity, int slabSize, long expireAfterWrite, long expireAfterAccess,
+                        MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.slabSize = slabSize;
+        this.freeSlots = new Deque[sizeClass(slabSize) + 1];
+        for (int i = 0; i < freeSlots.length; i++) {
+            freeSlots[i] = new ArrayDeque<>();
+        }
+        int maxSlabs = (int) Math.min(capacity / slabSize, Integer.MAX_VALUE);
+        this.slabClasses = new int[maxSlabs];
+        this.slabUsed = new int[maxSlabs];
+        // 在调用线程上执行淘汰和移除回调，槽被及时释放
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (expireAfterWrite > 0) {
+            builder.expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS);
+        }
+        if (expireAfterAccess > 0) {
+            builder.expireAfterAccess(expireAfterAccess, TimeUnit.MILLISECONDS);
+        }
+        this.index = builder
+                .maximumWeight(capacity)
+                .weigher((Object key, Entry entry) -> slotSize(entry.sizeClass))
+                .executor(Runnable::run)
+                .removalListener((Object key, Entry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        release(entry);
+                    }
+                })
+                .build();
+
+        Gauge.builder("cache.offheap.used", index, cache -> cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("堆外存储中条目占用的字节数（按槽尺寸）")
+                .tag("cache", cacheName)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("cache.offheap.allocated", this, store -> store.allocated)
+                .description("堆外存储已申请的直接内存字节数")
+                .tag("cache", cacheName)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("cache.offheap.rejected")
+                .description("超过块大小或容量已满而没有写入堆外存储的次数")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 读取条目的字节。
+     *
+     * @param key 原始key
+     * @return 序列化后的值，不存在时返回null
+     */
+    public byte[] get(Object key) {
+        Entry entry = index.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (entry) {
+            if (entry.released) {
+                return null;
+            }
+            byte[] bytes = new byte[entry.length];
+            ByteBuffer slab = slabs.get(entry.slab).duplicate();
+            slab.position(entry.offset);
+            slab.get(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * 写入条目，替换旧值。
+     *
+     * @param key   原始key
+     * @param bytes 序列化后的值
+     * @return 是否写入，槽尺寸超过块大小或没有可用的槽时返回false，旧值同时被移除
+     */
+    public boolean put(Object key, byte[] bytes) {
+        int sizeClass = sizeClass(bytes.length);
+        Long slot = null;
+        if (slotSize(sizeClass) <= slabSize) {
+            slot = allocate(sizeClass);
+            for (int round = 0; slot == null && round < MAX_EVICTION_ROUNDS && evictFor(sizeClass); round++) {
+                slot = allocate(sizeClass);
+            }
+        }
+        if (slot == null) {
+            rejected.increment();
+            index.invalidate(key);
+            return false;
+        }
+
+        Entry entry = new Entry((int) (slot >>> 32), (int) (long) slot, bytes.length, sizeClass);
+        ByteBuffer slab = slabs.get(entry.slab).duplicate();
+        slab.position(entry.offset);
+        slab.put(bytes);
+        index.put(key, entry);
+        return true;
+    }
+
+    /**
+     * 移除条目。
+     *
+     * @param key 原始key
+     */
+    public void invalidate(Object key) {
+        index.invalidate(key);
+    }
+
+    /**
+     * 移除多个条目。
+     *
+     * @param keys 原始key
+     */
+    public void invalidateAll(Iterable<?> keys) {
+        index.invalidateAll(keys);
+    }
+
+    /**
+     * 移除所有条目，已申请的内存保留复用。
+     */
+    public void invalidateAll() {
+        index.invalidateAll();
+    }
+
+    /**
+     * 分配一个槽：优先复用空闲槽，没有时在容量内申请新块，容量用完时重新切分一个空块。
+     *
+     * @param sizeClass 槽尺寸序号
+     * @return 槽位置，没有可用的槽时返回null
+     */
+    private synchronized Long allocate(int sizeClass) {
+        Deque<Long> free = freeSlots[sizeClass];
+        if (free.isEmpty()) {
+            int slabIndex;
+            if (allocated + slabSize <= capacity) {
+                slabIndex = slabs.size();
+                slabs.add(ByteBuffer.allocateDirect(slabSize));
+                allocated += slabSize;
+            } else {
+                slabIndex = emptySlab();
+                if (slabIndex < 0) {
+                    return null;
+                }
+                // 块中的槽都在原尺寸的空闲队列中，全部取出后按新尺寸切分
+                freeSlots[slabClasses[slabIndex]].removeIf(slot -> (int) (slot >>> 32) == slabIndex);
+            }
+            slabClasses[slabIndex] = sizeClass;
+            int slotSize = slotSize(sizeClass);
+            for (int offset = 0; offset + slotSize <= slabSize; offset += slotSize) {
+                free.add((long) slabIndex << 32 | offset);
+            }
+        }
+        Long slot = free.poll();
+        slabUsed[(int) (slot >>> 32)]++;
+        return slot;
+    }
+
+    /**
+     * 淘汰条目为sizeClass腾出空间：先清理已过期的条目，再淘汰最冷的一批中同尺寸的条目，
+     * 都没有时清空其它尺寸中使用槽数最少的块，由{@link #allocate(int)}重新切分。
+     *
+     * @param sizeClass 槽尺寸序号
+     * @return 是否淘汰了条目
+     */
+    private boolean evictFor(int sizeClass) {
+        long before = index.estimatedSize();
+        index.cleanUp();
+        if (index.estimatedSize() < before) {
+            return true;
+        }
+
+        Map<Object, Entry> coldest = index.policy().eviction()
+                .map(eviction -> eviction.coldest(EVICTION_SAMPLE))
+                .orElse(Collections.emptyMap());
+        for (Map.Entry<Object, Entry> candidate : coldest.entrySet()) {
+            if (candidate.getValue().sizeClass == sizeClass
+                    && index.asMap().remove(candidate.getKey(), candidate.getValue())) {
+                return true;
+            }
+        }
+
+        int slabIndex = leastUsedSlab(sizeClass);
+        if (slabIndex < 0) {
+            return false;
+        }
+        boolean evicted = false;
+        for (Map.Entry<Object, Entry> candidate : index.asMap().entrySet()) {
+            if (candidate.getValue().slab == slabIndex) {
+                evicted |= index.asMap().remove(candidate.getKey(), candidate.getValue());
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 查找可以重新切分的块。
+     *
+     * @return 没有正在使用的槽的块序号，不存在时返回-1
+     */
+    private int emptySlab() {
+        for (int i = 0; i < slabs.size(); i++) {
+            if (slabUsed[i] == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 查找尺寸不是sizeClass的块中使用槽数最少的一个。
+     *
+     * @param sizeClass 槽尺寸序号
+     * @return 块序号，不存在时返回-1
+     */
+    private synchronized int leastUsedSlab(int sizeClass) {
+        int least = -1;
+        for (int i = 0; i < slabs.size(); i++) {
+            if (slabClasses[i] != sizeClass && (least < 0 || slabUsed[i] < slabUsed[least])) {
+                least = i;
+            }
+        }
+        return least;
+    }
+
+    private void release(Entry entry) {
+        synchronized (entry) {
+            entry.released = true;
+        }
+        // 只在本对象上加锁，不调用索引，不会与索引的淘汰互相等待
+        synchronized (this) {
+            slabUsed[entry.slab]--;
+            freeSlots[entry.sizeClass].add((long) entry.slab << 32 | entry.offset);
+        }
+    }
+
+    private static int sizeClass(int length) {
+        int shift = 32 - Integer.numberOfLeadingZeros(Math.max(length, 1) - 1);
+        return Math.max(shift, MIN_SHIFT) - MIN_SHIFT;
+    }
+
+    private static int slotSize(int sizeClass) {
+        return 1 << (sizeClass + MIN_SHIFT);
+    }
+
+    /**
+     * Description: 堆外存储中的一个条目
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    private static final class Entry {
+
+        private final int slab;
+
+        private final int offset;
+
+        private final int length;
+
+        private final int sizeClass;
+
+        /**
+         * 槽是否已释放，读写都在条目上加锁
+         */
+        private boolean released;
+
+        private Entry(int slab, int offset, int length, int sizeClass) {
+            this.slab = slab;
+            this.offset = offset;
+            this.length = length;
+            this.sizeClass = sizeClass;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.yueerba.framework.cache.offheap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 堆外存储管理
+ * <p>
+ * 为cache.off-heap.capacities中配置了容量的缓存创建{@link OffHeapStore}，过期时间与缓存的Caffeine本地缓存一致。
+ * 直接内存受-XX:MaxDirectMemorySize限制，所有缓存的容量之和应小于该值。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
+public class OffHeapStoreManager {
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 为缓存创建堆外存储。
+     *
+     * @param cacheName  缓存名称
+     * @param localCache 缓存的Caffeine本地缓存，堆外存储使用相同的过期时间
+     * @return 堆外存储，未配置容量时返回null
+     */
+    public OffHeapStore create(String cacheName, Cache<Object, Object> localCache) {
+        CacheProperties.OffHeap config = cacheProperties.getOffHeap();
+        Long capacity = config.getCapacities().get(cacheName);
+        if (capacity == null || capacity < config.getSlabSize()) {
+            return null;
+        }
+        long expireAfterWrite = localCache.policy().expireAfterWrite()
+                .map(expiration -> expiration.getExpiresAfter(TimeUnit.MILLISECONDS)).orElse(0L);
+        long expireAfterAccess = localCache.policy().expireAfterAccess()
+                .map(expiration -> expiration.getExpiresAfter(TimeUnit.MILLISECONDS)).orElse(0L);
+        log.info("缓存: {}开启堆外存储，容量: {}字节，块大小: {}字节，写入后过期: {}ms，访问后过期: {}ms",
+                cacheName, capacity, config.getSlabSize(), expireAfterWrite, expireAfterAccess);
+        return new OffHeapStore(cacheName, capacity, config.getSlabSize(), expireAfterWrite, expireAfterAccess,
+                meterRegistry);
+    }
+
+    /**
+     * 值的估算大小达到该值时只存放在堆外存储中。
+     *
+     * @return 阈值（字节）
+     */
+    public long threshold() {
+        return cacheProperties.getOffHeap().getThreshold();
+    }
+}
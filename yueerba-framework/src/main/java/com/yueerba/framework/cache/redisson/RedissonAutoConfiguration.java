@@ -4,6 +4,7 @@ import com.yueerba.framework.cache.config.properties.RedissonProperties;
 import com.yueerba.framework.cache.redisson.custom.RedissonAutoConfigurationCustomizer;
 import com.yueerba.framework.cache.redisson.selector.RedisConfigSelector;
 import com.yueerba.framework.cache.serializer.GenericJackson2JsonCodec;
+import com.yueerba.framework.cache.sync.ClientTrackingConnection;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
@@ -83,6 +84,18 @@ public class RedissonAutoConfiguration {
         return Redisson.create(config);
     }
 
+    /**
+     * 创建客户端缓存失效跟踪（CLIENT TRACKING）连接，第一个使用TRACKING模式的缓存注册时才建立连接。
+     * 集群模式下连接不可用，使用该模式的缓存退回应用层广播。
+     *
+     * @return 失效跟踪连接
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(ClientTrackingConnection.class)
+    public ClientTrackingConnection clientTrackingConnection() {
+        return new ClientTrackingConnection(configSelector.selectTrackingUri());
+    }
+
     /**
      * 应用所有的自定义配置到给定的 Config 对象。
      *
@@ -1,6 +1,7 @@
 package com.yueerba.framework.cache.redisson.builder;
 
 import com.yueerba.framework.cache.utils.NodeConverter;
+import io.lettuce.core.RedisURI;
 import org.redisson.config.Config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
@@ -52,6 +53,32 @@ public class SentinelConfigBuilder {
         return config;
     }
 
+    /**
+     * 根据 RedisProperties 构建客户端缓存失效跟踪（CLIENT TRACKING）连接使用的地址，
+     * 由哨兵发现主节点，主从切换后连接会重新指向新的主节点。
+     *
+     * @param properties 应用配置中的 Redis 属性
+     * @return 哨兵模式的 Lettuce 连接地址
+     */
+    public RedisURI trackingUri(RedisProperties properties) {
+        // 哨兵节点形如 host:port 或 redis://host:port
+        String[] nodes = NodeConverter.convert(getSentinelNodes(properties));
+        RedisURI first = RedisURI.create(nodes[0]);
+        RedisURI.Builder builder = RedisURI.Builder.sentinel(first.getHost(), first.getPort(), properties.getSentinel().getMaster())
+                .withDatabase(properties.getDatabase())
+                .withTimeout(properties.getTimeout());
+        for (int i = 1; i < nodes.length; i++) {
+            RedisURI sentinel = RedisURI.create(nodes[i]);
+            builder.withSentinel(sentinel.getHost(), sentinel.getPort());
+        }
+        // 在添加完所有哨兵之后设置，Lettuce会把SSL同时应用到已添加的哨兵节点
+        builder.withSsl(properties.isSsl());
+        if (properties.getPassword() != null) {
+            builder.withAuthentication(properties.getUsername(), properties.getPassword());
+        }
+        return builder.build();
+    }
+
     /**
      * 从 RedisProperties 中获取哨兵的节点信息。
      *
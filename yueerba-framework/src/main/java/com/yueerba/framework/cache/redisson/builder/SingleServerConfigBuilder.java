@@ -1,6 +1,7 @@
 package com.yueerba.framework.cache.redisson.builder;
 
 import com.yueerba.framework.cache.utils.NodeConverter;
+import io.lettuce.core.RedisURI;
 import org.redisson.config.Config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
@@ -47,6 +48,23 @@ public class SingleServerConfigBuilder {
         return config;
     }
 
+    /**
+     * 根据 RedisProperties 构建客户端缓存失效跟踪（CLIENT TRACKING）连接使用的地址。
+     *
+     * @param properties 应用配置中的 Redis 属性
+     * @return 单服务器的 Lettuce 连接地址
+     */
+    public RedisURI trackingUri(RedisProperties properties) {
+        RedisURI.Builder builder = RedisURI.Builder.redis(properties.getHost(), properties.getPort())
+                .withSsl(properties.isSsl())
+                .withDatabase(properties.getDatabase())
+                .withTimeout(properties.getTimeout());
+        if (properties.getPassword() != null) {
+            builder.withAuthentication(properties.getUsername(), properties.getPassword());
+        }
+        return builder.build();
+    }
+
     /**
      * 从 RedisProperties 中获取单服务器的地址。
      *
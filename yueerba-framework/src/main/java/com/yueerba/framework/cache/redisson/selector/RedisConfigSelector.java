@@ -4,6 +4,7 @@ import com.yueerba.framework.cache.redisson.builder.ClusterConfigBuilder;
 import com.yueerba.framework.cache.redisson.builder.SentinelConfigBuilder;
 import com.yueerba.framework.cache.redisson.builder.SingleServerConfigBuilder;
 import com.yueerba.framework.cache.utils.ReflectionUtil;
+import io.lettuce.core.RedisURI;
 import org.redisson.config.Config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
@@ -59,6 +60,28 @@ public class RedisConfigSelector {
         }
     }
 
+    /**
+     * 根据 RedisProperties 选择客户端缓存失效跟踪（CLIENT TRACKING）连接的地址。
+     * <p>
+     * 集群模式下各分片的失效消息需要分别订阅，暂不支持，返回null，使用该模式的缓存退回应用层广播。
+     *
+     * @return Lettuce 连接地址，集群模式下为null
+     */
+    public RedisURI selectTrackingUri() {
+        // 如果是哨兵模式
+        if (redisProperties.getSentinel() != null) {
+            return sentinelBuilder.trackingUri(redisProperties);
+        }
+        // 如果是集群模式
+        else if (isClusterConfig()) {
+            return null;
+        }
+        // 默认为单实例模式
+        else {
+            return singleServerBuilder.trackingUri(redisProperties);
+        }
+    }
+
     /**
      * 判断是否为集群模式。
      *
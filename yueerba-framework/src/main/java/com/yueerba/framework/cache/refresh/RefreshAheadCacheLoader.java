@@ -0,0 +1,168 @@
+package com.yueerba.framework.cache.refresh;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Description: Caffeine本地缓存的提前刷新加载器
+ * <p>
+ * 只负责refreshAfterWrite触发的刷新，不负责首次加载（{@link #load(Object)}始终返回null，未命中仍由缓存自身处理）。
+ * 一个时间窗口内需要刷新的key会合并为一批，交给{@link BulkReloader}一次性从Redis读取，
+ * 刷新完成前Caffeine继续返回旧值。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+public class RefreshAheadCacheLoader implements CacheLoader<Object, Object> {
+
+    /**
+     * 缓存名称
+     */
+    private final String cacheName;
+
+    /**
+     * 单批最多刷新的key数量
+     */
+    private final int batchSize;
+
+    /**
+     * 合并刷新的等待时间（毫秒）
+     */
+    private final long batchDelay;
+
+    /**
+     * 批量刷新调度线程
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 有界的刷新线程池，用于加载器回源
+     */
+    private final Executor executor;
+
+    /**
+     * 等待合并刷新的key
+     */
+    private final Map<Object, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 是否已调度了一次批量刷新
+     */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * 批量刷新逻辑，由缓存实例创建后绑定
+     */
+    private volatile BulkReloader bulkReloader;
+
+    public RefreshAheadCacheLoader(String cacheName, int batchSize, long batchDelay,
+                                   ScheduledExecutorService scheduler, Executor executor) {
+        this.cacheName = cacheName;
+        this.batchSize = batchSize;
+        this.batchDelay = batchDelay;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * 绑定批量刷新逻辑。
+     *
+     * @param bulkReloader 批量刷新逻辑
+     */
+    public void bind(BulkReloader bulkReloader) {
+        this.bulkReloader = bulkReloader;
+    }
+
+    /**
+     * 不做首次加载，未命中直接返回null。
+     */
+    @Override
+    public Object load(Object key) {
+        return null;
+    }
+
+    /**
+     * 提交一个key的刷新，返回的Future在所在批次刷新完成后完成。
+     * 结果为null时Caffeine移除该条目，异常时保留旧值。
+     */
+    @Override
+    public CompletableFuture<Object> asyncReload(Object key, Object oldValue, Executor ignored) {
+        if (bulkReloader == null) {
+            return CompletableFuture.completedFuture(oldValue);
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = pending.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (pending.size() >= batchSize) {
+            scheduler.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, batchDelay, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * 取出一批待刷新的key并执行批量刷新。
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Object, CompletableFuture<Object>> batch = new HashMap<>(batchSize * 4 / 3 + 1);
+        for (Iterator<Map.Entry<Object, CompletableFuture<Object>>> it = pending.entrySet().iterator();
+             it.hasNext() && batch.size() < batchSize; ) {
+            Map.Entry<Object, CompletableFuture<Object>> entry = it.next();
+            batch.put(entry.getKey(), entry.getValue());
+            it.remove();
+        }
+
+        // 剩余的key立即开始下一批
+        if (!pending.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+
+        log.debug("批量刷新本地缓存，缓存: {}，数量: {}", cacheName, batch.size());
+        CompletableFuture<Map<Object, Object>> reloaded;
+        try {
+            reloaded = bulkReloader.reloadAll(batch.keySet(), executor);
+        } catch (RuntimeException e) {
+            reloaded = new CompletableFuture<>();
+            reloaded.completeExceptionally(e);
+        }
+        reloaded.whenComplete((values, e) -> batch.forEach((key, future) -> {
+            if (e != null) {
+                future.completeExceptionally(e);
+            } else {
+                future.complete(values.get(key));
+            }
+        }));
+    }
+
+    /**
+     * Description: 批量刷新逻辑
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    @FunctionalInterface
+    public interface BulkReloader {
+
+        /**
+         * 批量重新加载
+         *
+         * @param keys     原始key
+         * @param executor 加载器回源使用的线程池
+         * @return 新的存储值，键为原始key；不包含的key会从本地缓存中移除
+         */
+        CompletableFuture<Map<Object, Object>> reloadAll(Collection<Object> keys, Executor executor);
+    }
+}
@@ -0,0 +1,109 @@
+package com.yueerba.framework.cache.refresh;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yueerba.framework.cache.config.properties.CaffeineCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Description: 本地缓存提前刷新支持
+ * <p>
+ * 为配置了refreshAfterWrite的缓存创建{@link RefreshAheadCacheLoader}，所有缓存共享一个有界刷新线程池。
+ * 使用方式：
+ * <pre>
+ * RefreshAheadCacheLoader loader = refreshAheadSupport.createLoader(name);
+ * Cache&lt;Object, Object&gt; cache = loader == null ? builder.build() : refreshAheadSupport.apply(builder, name).build(loader);
+ * RedisCaffeineCache redisCaffeineCache = new RedisCaffeineCache(name, cache, ...);
+ * if (loader != null) loader.bind(redisCaffeineCache::reloadAll);
+ * </pre>
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
+public class RefreshAheadSupport {
+
+    @Resource
+    private CaffeineCacheProperties caffeineCacheProperties;
+
+    /**
+     * 有界刷新线程池，队列满时放弃加载器回源
+     */
+    private ThreadPoolExecutor refreshExecutor;
+
+    /**
+     * 批量刷新调度线程
+     */
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger index = new AtomicInteger();
+        int threads = caffeineCacheProperties.getRefreshThreads();
+        this.refreshExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(caffeineCacheProperties.getRefreshQueueSize()),
+                r -> {
+                    Thread thread = new Thread(r, "cache-refresh-ahead-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        refreshExecutor.allowCoreThreadTimeOut(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-refresh-ahead-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 缓存是否开启了提前刷新。
+     *
+     * @param cacheName 缓存名称
+     * @return 开启返回true
+     */
+    public boolean isEnabled(String cacheName) {
+        Long refreshAfterWrite = caffeineCacheProperties.getRefreshAfterWrite().get(cacheName);
+        return refreshAfterWrite != null && refreshAfterWrite > 0;
+    }
+
+    /**
+     * 为缓存创建提前刷新加载器。
+     *
+     * @param cacheName 缓存名称
+     * @return 加载器，未开启提前刷新时返回null
+     */
+    public RefreshAheadCacheLoader createLoader(String cacheName) {
+        if (!isEnabled(cacheName)) {
+            return null;
+        }
+        return new RefreshAheadCacheLoader(cacheName, caffeineCacheProperties.getRefreshBatchSize(),
+                caffeineCacheProperties.getRefreshBatchDelay(), scheduler, refreshExecutor);
+    }
+
+    /**
+     * 在Caffeine构建器上设置refreshAfterWrite。
+     *
+     * @param builder   Caffeine构建器
+     * @param cacheName 缓存名称
+     * @return Caffeine构建器
+     */
+    public Caffeine<Object, Object> apply(Caffeine<Object, Object> builder, String cacheName) {
+        if (isEnabled(cacheName)) {
+            builder.refreshAfterWrite(caffeineCacheProperties.getRefreshAfterWrite().get(cacheName), TimeUnit.MILLISECONDS);
+        }
+        return builder;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdownNow();
+        refreshExecutor.shutdownNow();
+    }
+}
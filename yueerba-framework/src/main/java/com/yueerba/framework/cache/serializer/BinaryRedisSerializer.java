@@ -0,0 +1,122 @@
+package com.yueerba.framework.cache.serializer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.netty.buffer.ByteBuf;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * Description: 二进制Redis序列化器
+ * <p>
+ * 使用Jackson Smile二进制格式，类型标识使用{@link ClassIdRegistry}中的编号，属性名和重复字符串在同一个值内只写一次。
+ * 格式仍按属性名映射，新增或删除字段不影响读取旧值（忽略未知属性，缺失属性取默认值）。
+ * <p>
+ * 读取时按Smile头部（":)\n"）区分格式，非Smile的数据交给JSON序列化器，切换到二进制格式前写入的值仍可读取；
+ * 无法解析的Smile值（如类型编号已删除）记录日志并按未命中处理，由调用方重新加载覆盖。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+public class BinaryRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * Smile格式头部的前三个字节
+     */
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    /**
+     * 以Object为根类型的写入器，保证根对象也带有类型标识
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * 以Object为根类型的读取器
+     */
+    private final ObjectReader reader;
+
+    /**
+     * 读取旧格式数据使用的JSON序列化器
+     */
+    private final RedisSerializer<Object> jsonSerializer;
+
+    public BinaryRedisSerializer(ObjectMapper smileMapper, RedisSerializer<Object> jsonSerializer) {
+        this.writer = smileMapper.writerFor(Object.class);
+        this.reader = smileMapper.readerFor(Object.class);
+        this.jsonSerializer = jsonSerializer;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("二进制序列化失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!isSmile(bytes)) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        try {
+            return reader.readValue(bytes);
+        } catch (IOException e) {
+            log.warn("二进制反序列化失败，按未命中处理，长度: {}", bytes.length, e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取以Object为根类型的写入器。
+     *
+     * @return 写入器
+     */
+    public ObjectWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * 获取以Object为根类型的读取器。
+     *
+     * @return 读取器
+     */
+    public ObjectReader getReader() {
+        return reader;
+    }
+
+    /**
+     * 判断数据是否为Smile格式。
+     *
+     * @param bytes 数据
+     * @return 以Smile头部开头返回true
+     */
+    public static boolean isSmile(byte[] bytes) {
+        return bytes.length >= SMILE_HEADER.length
+                && bytes[0] == SMILE_HEADER[0] && bytes[1] == SMILE_HEADER[1] && bytes[2] == SMILE_HEADER[2];
+    }
+
+    /**
+     * 不移动读指针，判断ByteBuf中的数据是否为Smile格式。
+     *
+     * @param buf 数据
+     * @return 以Smile头部开头返回true
+     */
+    public static boolean isSmile(ByteBuf buf) {
+        int index = buf.readerIndex();
+        return buf.readableBytes() >= SMILE_HEADER.length && buf.getByte(index) == SMILE_HEADER[0]
+                && buf.getByte(index + 1) == SMILE_HEADER[1] && buf.getByte(index + 2) == SMILE_HEADER[2];
+    }
+}
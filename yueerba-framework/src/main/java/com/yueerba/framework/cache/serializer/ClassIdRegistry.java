@@ -0,0 +1,119 @@
+package com.yueerba.framework.cache.serializer;
+
+import com.yueerba.framework.cache.strategy.breakdown.LogicalExpireValue;
+import org.springframework.cache.support.NullValue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Description: 类型编号注册表
+ * <p>
+ * 二进制序列化时，已注册的类型写入编号（十进制字符串）而不是完整类名，未注册的类型仍写入类名。
+ * 编号1-99保留给常用JDK类型和缓存内部类型，业务类型的编号从100开始。
+ * 编号一经使用不能再分配给其它类型；类型改名或移动包时只需把原编号指向新类名，已写入的值仍可读取。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class ClassIdRegistry {
+
+    /**
+     * 业务类型的最小编号
+     */
+    public static final int MIN_USER_ID = 100;
+
+    /**
+     * 类名到编号
+     */
+    private final Map<String, String> ids = new HashMap<>();
+
+    /**
+     * 编号到类名
+     */
+    private final Map<String, String> classNames = new HashMap<>();
+
+    /**
+     * 创建注册表，包含内置类型和业务类型。
+     *
+     * @param userClassIds 业务类型编号到类名的映射，编号不小于{@link #MIN_USER_ID}
+     */
+    public ClassIdRegistry(Map<Integer, String> userClassIds) {
+        register(1, ArrayList.class);
+        register(2, LinkedList.class);
+        register(3, HashSet.class);
+        register(4, LinkedHashSet.class);
+        register(5, TreeSet.class);
+        register(6, HashMap.class);
+        register(7, LinkedHashMap.class);
+        register(8, TreeMap.class);
+        register(9, Long.class);
+        register(10, Date.class);
+        register(11, BigDecimal.class);
+        register(12, BigInteger.class);
+        register(13, java.sql.Timestamp.class);
+        register(14, java.sql.Date.class);
+        register(15, Float.class);
+        register(16, Short.class);
+        register(17, Byte.class);
+        register(18, Character.class);
+        register(19, Object[].class);
+        register(20, String[].class);
+        register(21, Long[].class);
+        register(22, Integer[].class);
+        register(50, LogicalExpireValue.class);
+        register(51, NullValue.class);
+
+        userClassIds.forEach((id, className) -> {
+            if (id < MIN_USER_ID) {
+                throw new IllegalArgumentException("业务类型编号必须不小于" + MIN_USER_ID + "，编号: " + id + "，类型: " + className);
+            }
+            register(id, className);
+        });
+    }
+
+    /**
+     * 获取类名对应的编号。
+     *
+     * @param className 类名
+     * @return 编号，未注册返回null
+     */
+    public String idOf(String className) {
+        return ids.get(className);
+    }
+
+    /**
+     * 获取编号对应的类名。
+     *
+     * @param id 编号
+     * @return 类名，未注册返回null
+     */
+    public String classNameOf(String id) {
+        return classNames.get(id);
+    }
+
+    /**
+     * 判断类型标识是否为编号（类名不会以数字开头）。
+     *
+     * @param typeId 类型标识
+     * @return 是编号返回true
+     */
+    public static boolean isId(String typeId) {
+        return !typeId.isEmpty() && Character.isDigit(typeId.charAt(0));
+    }
+
+    private void register(int id, Class<?> type) {
+        register(id, type.getName());
+    }
+
+    private void register(int id, String className) {
+        String key = String.valueOf(id);
+        String existing = classNames.putIfAbsent(key, className);
+        if (existing != null) {
+            throw new IllegalArgumentException("类型编号重复，编号: " + id + "，类型: " + existing + ", " + className);
+        }
+        if (ids.putIfAbsent(className, key) != null) {
+            throw new IllegalArgumentException("类型重复注册，类型: " + className);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.yueerba.framework.cache.serializer;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Description: 使用类型编号的默认类型信息构建器
+ * <p>
+ * 与{@link ObjectMapper#activateDefaultTyping}的行为一致（NON_FINAL + WRAPPER_ARRAY），
+ * 区别是类型标识优先使用{@link ClassIdRegistry}中的编号，读取时同时兼容编号和完整类名。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class ClassIdTypeResolverBuilder extends ObjectMapper.DefaultTypeResolverBuilder {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 类型编号注册表
+     */
+    private final transient ClassIdRegistry registry;
+
+    public ClassIdTypeResolverBuilder(PolymorphicTypeValidator subtypeValidator, ClassIdRegistry registry) {
+        super(ObjectMapper.DefaultTyping.NON_FINAL, subtypeValidator);
+        this.registry = registry;
+        init(JsonTypeInfo.Id.CLASS, null);
+        inclusion(JsonTypeInfo.As.WRAPPER_ARRAY);
+    }
+
+    @Override
+    protected TypeIdResolver idResolver(MapperConfig<?> config, JavaType baseType, PolymorphicTypeValidator subtypeValidator,
+                                        Collection<NamedType> subtypes, boolean forSer, boolean forDeser) {
+        return new ClassIdResolver(baseType, config.getTypeFactory(), subtypeValidator, registry);
+    }
+
+    /**
+     * Description: 类型编号解析器，在类名解析的基础上做编号与类名的转换
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    static class ClassIdResolver extends ClassNameIdResolver {
+
+        private final ClassIdRegistry registry;
+
+        ClassIdResolver(JavaType baseType, TypeFactory typeFactory, PolymorphicTypeValidator subtypeValidator,
+                        ClassIdRegistry registry) {
+            super(baseType, typeFactory, subtypeValidator);
+            this.registry = registry;
+        }
+
+        @Override
+        public String idFromValue(Object value) {
+            return toId(super.idFromValue(value));
+        }
+
+        @Override
+        public String idFromValueAndType(Object value, Class<?> type) {
+            return toId(super.idFromValueAndType(value, type));
+        }
+
+        @Override
+        public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+            if (ClassIdRegistry.isId(id)) {
+                String className = registry.classNameOf(id);
+                if (className == null) {
+                    throw InvalidTypeIdException.from(null, "未注册的类型编号: " + id, _baseType, id);
+                }
+                return super.typeFromId(context, className);
+            }
+            return super.typeFromId(context, id);
+        }
+
+        private String toId(String className) {
+            String id = registry.idOf(className);
+            return id == null ? className : id;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.yueerba.framework.cache.serializer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+
+/**
+ * Description: 带阈值压缩的Redisson编解码器
+ * <p>
+ * 包装缓存值编解码器：编码结果达到阈值时按{@link ValueCompressor}压缩；解码时先检查头部，
+ * 未压缩的数据直接交给被包装的解码器，不产生额外复制。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class CompressionCodec extends BaseCodec {
+
+    /**
+     * 缓存值编解码器
+     */
+    private final BaseCodec delegate;
+
+    /**
+     * 压缩器
+     */
+    private final ValueCompressor compressor;
+
+    public CompressionCodec(BaseCodec delegate, ValueCompressor compressor) {
+        this.delegate = delegate;
+        this.compressor = compressor;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        Decoder<Object> decoder = delegate.getValueDecoder();
+        return (buf, state) -> {
+            if (!ValueCompressor.isCompressed(buf)) {
+                return decoder.decode(buf, state);
+            }
+
+            byte[] header = new byte[ValueCompressor.HEADER_LENGTH];
+            buf.readBytes(header);
+            byte[] compressed = ByteBufUtil.getBytes(buf);
+            buf.skipBytes(buf.readableBytes());
+            byte[] bytes;
+            try {
+                bytes = compressor.decompress(compressed, 0, compressed.length, ValueCompressor.originalLength(header));
+            } catch (IllegalStateException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            return decoder.decode(Unpooled.wrappedBuffer(bytes), state);
+        };
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        Encoder encoder = delegate.getValueEncoder();
+        return in -> {
+            ByteBuf encoded = encoder.encode(in);
+            if (encoded.readableBytes() < compressor.getThreshold()) {
+                return encoded;
+            }
+            byte[] bytes;
+            try {
+                bytes = ByteBufUtil.getBytes(encoded);
+            } finally {
+                encoded.release();
+            }
+            return Unpooled.wrappedBuffer(compressor.compress(bytes));
+        };
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return delegate.getClassLoader();
+    }
+}
@@ -0,0 +1,43 @@
+package com.yueerba.framework.cache.serializer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Description: 带阈值压缩的Redis序列化器
+ * <p>
+ * 在缓存值序列化器的结果上按{@link ValueCompressor}压缩，读取时按头部判断是否需要解压。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class CompressionRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 缓存值序列化器
+     */
+    private final RedisSerializer<Object> delegate;
+
+    /**
+     * 压缩器
+     */
+    private final ValueCompressor compressor;
+
+    public CompressionRedisSerializer(RedisSerializer<Object> delegate, ValueCompressor compressor) {
+        this.delegate = delegate;
+        this.compressor = compressor;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        return compressor.compress(delegate.serialize(value));
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        try {
+            return delegate.deserialize(compressor.decompress(bytes));
+        } catch (IllegalStateException e) {
+            throw new SerializationException(e.getMessage(), e);
+        }
+    }
+}
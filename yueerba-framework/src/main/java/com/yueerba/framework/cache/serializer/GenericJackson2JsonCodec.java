@@ -1,27 +1,84 @@
 package com.yueerba.framework.cache.serializer;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
+import lombok.extern.slf4j.Slf4j;
 import org.redisson.client.codec.BaseCodec;
 import org.redisson.client.protocol.Decoder;
 import org.redisson.client.protocol.Encoder;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
- * Description: Redisson的自定义编解码器，用于将对象序列化为JSON并进行Redis存储与读取
+ * Description: Redisson的自定义编解码器，用于将对象序列化为JSON（或二进制格式）并进行Redis存储与读取
+ * <p>
+ * 编解码直接在Netty的ByteBuf上以流的方式进行：解码通过{@link ByteBufInputStream}读取，编码通过{@link ByteBufOutputStream}
+ * 写入池化的ByteBuf，不再经过中间的byte[]。读写使用启动时创建的ObjectReader和ObjectWriter，
+ * 产生的数据与{@link RedisSerializerConfig#redisValueSerializer}完全一致，RedisTemplate和Redisson可以互相读取。
  * Author: yueerba
  * Date: 2023/9/12
  */
+@Slf4j
 @Component
 public class GenericJackson2JsonCodec extends BaseCodec {
 
+    /**
+     * 缓存值序列化器（JSON或二进制，由cache.serializer.type决定）
+     */
+    @Resource
+    private RedisSerializer<Object> redisValueSerializer;
+
+    /**
+     * JSON格式的ObjectMapper
+     */
     @Resource
-    private RedisSerializer jackson2JsonRedisSerializer;
+    private ObjectMapper objectMapper;
+
+    /**
+     * 当前格式的写入器
+     */
+    private ObjectWriter writer;
+
+    /**
+     * 当前格式的读取器
+     */
+    private ObjectReader reader;
+
+    /**
+     * JSON格式的读取器，二进制格式下用于读取旧的JSON数据
+     */
+    private ObjectReader jsonReader;
+
+    /**
+     * 是否为二进制格式
+     */
+    private boolean binary;
+
+    @PostConstruct
+    public void init() {
+        this.jsonReader = objectMapper.readerFor(Object.class);
+        if (redisValueSerializer instanceof BinaryRedisSerializer) {
+            BinaryRedisSerializer binarySerializer = (BinaryRedisSerializer) redisValueSerializer;
+            this.binary = true;
+            this.writer = binarySerializer.getWriter();
+            this.reader = binarySerializer.getReader();
+        } else {
+            // 与GenericJackson2JsonRedisSerializer一致：按运行时类型写入，按Object读取
+            this.writer = objectMapper.writer();
+            this.reader = jsonReader;
+        }
+    }
 
     /**
      * 获取值解码器，将Redis中的数据反序列化为Java对象
@@ -31,12 +88,25 @@ public class GenericJackson2JsonCodec extends BaseCodec {
     @Override
     public Decoder<Object> getValueDecoder() {
         return (buf, state) -> {
-            // 从ByteBuf中读取字节数组
-            byte[] bytes = new byte[buf.readableBytes()];
-            buf.readBytes(bytes);
+            if (!buf.isReadable()) {
+                return null;
+            }
 
-            // 使用jackson2JsonRedisSerializer反序列化字节数组为Java对象
-            return jackson2JsonRedisSerializer.deserialize(bytes);
+            // 直接从ByteBuf中读取，不复制为字节数组
+            InputStream in = new ByteBufInputStream(buf);
+            if (!binary) {
+                return reader.readValue(in);
+            }
+            if (!BinaryRedisSerializer.isSmile(buf)) {
+                return jsonReader.readValue(in);
+            }
+            try {
+                return reader.readValue(in);
+            } catch (IOException e) {
+                // 与BinaryRedisSerializer一致，无法解析的二进制值按未命中处理
+                log.warn("二进制反序列化失败，按未命中处理", e);
+                return null;
+            }
         };
     }
 
@@ -49,14 +119,14 @@ public class GenericJackson2JsonCodec extends BaseCodec {
     public Encoder getValueEncoder() {
         return in -> {
             ByteBuf out = ByteBufAllocator.DEFAULT.buffer();
+            if (in == null) {
+                return out;
+            }
             try {
-                ByteBufOutputStream os = new ByteBufOutputStream(out);
-
-                // 使用jackson2JsonRedisSerializer将Java对象序列化为字节数组，并写入输出流
-                os.write(jackson2JsonRedisSerializer.serialize(in));
-
-                // 返回包含序列化数据的ByteBuf
-                return os.buffer();
+                // 直接序列化到池化的ByteBuf中
+                OutputStream os = new ByteBufOutputStream(out);
+                writer.writeValue(os, in);
+                return out;
             } catch (IOException e) {
                 out.release();
                 throw e;
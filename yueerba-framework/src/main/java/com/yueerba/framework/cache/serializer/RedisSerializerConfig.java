@@ -8,10 +8,14 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yueerba.framework.cache.config.properties.CacheProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
  * Description: 配置Redis的序列化和反序列化
@@ -28,19 +32,25 @@ public class RedisSerializerConfig {
         return serializer;
     }
 
+    /**
+     * 缓存值使用的序列化器，RedisTemplate和Redisson编解码器共用。
+     * 按cache.serializer.type选择JSON或二进制格式，二进制格式可以读取JSON格式写入的旧值。
+     */
+    @Bean
+    public RedisSerializer<Object> redisValueSerializer(CacheProperties cacheProperties,
+                                                       GenericJackson2JsonRedisSerializer jackson2JsonRedisSerializer) {
+        CacheProperties.Serializer serializer = cacheProperties.getSerializer();
+        if (serializer.getType() == CacheProperties.SerializerType.BINARY) {
+            return new BinaryRedisSerializer(smileObjectMapper(new ClassIdRegistry(serializer.getClassIds())),
+                    jackson2JsonRedisSerializer);
+        }
+        return jackson2JsonRedisSerializer;
+    }
+
     @Bean
     public ObjectMapper objectMapper() {
         // 创建一个自定义的ObjectMapper对象用于配置序列化和反序列化规则
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        // 设置对象的可见性规则，使得所有字段都可以被序列化和反序列化
-        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-
-        // 配置在反序列化时忽略未知的属性，防止反序列化失败
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-        // 配置在序列化时忽略空的对象，防止序列化失败
-        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        ObjectMapper objectMapper = configure(new ObjectMapper());
 
         // 启用Jackson的默认类型信息，用于支持多态类型的序列化和反序列化
         objectMapper.activateDefaultTyping(
@@ -52,6 +62,41 @@ public class RedisSerializerConfig {
                 JsonTypeInfo.As.WRAPPER_ARRAY
         );
 
+        return objectMapper;
+    }
+
+    /**
+     * 创建Smile二进制格式的ObjectMapper，规则与JSON一致，类型信息使用类型编号。
+     *
+     * @param registry 类型编号注册表
+     * @return ObjectMapper
+     */
+    private ObjectMapper smileObjectMapper(ClassIdRegistry registry) {
+        // 同一个值内重复的字符串只写一次，列表中的对象通常有大量相同的枚举名、状态值
+        SmileFactory smileFactory = new SmileFactory();
+        smileFactory.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+
+        ObjectMapper objectMapper = configure(new ObjectMapper(smileFactory));
+        objectMapper.setDefaultTyping(new ClassIdTypeResolverBuilder(LaissezFaireSubTypeValidator.instance, registry));
+        return objectMapper;
+    }
+
+    /**
+     * 配置JSON和二进制格式共用的序列化规则。
+     *
+     * @param objectMapper ObjectMapper
+     * @return ObjectMapper
+     */
+    private ObjectMapper configure(ObjectMapper objectMapper) {
+        // 设置对象的可见性规则，使得所有字段都可以被序列化和反序列化
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+
+        // 配置在反序列化时忽略未知的属性，防止反序列化失败
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        // 配置在序列化时忽略空的对象，防止序列化失败
+        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+
         // 设置只包含非空的属性值，不包含null值的属性
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
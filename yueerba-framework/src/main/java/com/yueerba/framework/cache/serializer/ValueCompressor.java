@@ -0,0 +1,217 @@
+package com.yueerba.framework.cache.serializer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.buffer.ByteBuf;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Description: 缓存值压缩
+ * <p>
+ * 序列化结果达到阈值时使用Deflate压缩，压缩后的数据格式为：
+ * <pre>
+ * 0xC0 | 算法(1字节，0x01=Deflate) | 原始长度(4字节，大端) | 压缩数据
+ * </pre>
+ * 0xC0不是合法的UTF-8首字节，也不是Smile头部，不会与未压缩的JSON或二进制数据混淆，
+ * 因此读取时按首字节判断，未压缩的旧值仍可直接读取。压缩后没有变小的值按原样保存。
+ * <p>
+ * 指标（均带cache标签）：cache.compression.ratio（压缩后/压缩前）、cache.compression.time（operation=compress/decompress）、
+ * cache.compression.bytes.saved（节省的字节数）。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class ValueCompressor {
+
+    /**
+     * 压缩数据的标记字节
+     */
+    public static final byte MAGIC = (byte) 0xC0;
+
+    /**
+     * Deflate算法
+     */
+    private static final byte DEFLATE = 0x01;
+
+    /**
+     * 头部长度
+     */
+    public static final int HEADER_LENGTH = 6;
+
+    /**
+     * 压缩阈值（字节）
+     */
+    private final int threshold;
+
+    /**
+     * 压缩级别
+     */
+    private final int level;
+
+    private final DistributionSummary ratio;
+
+    private final Timer compressTime;
+
+    private final Timer decompressTime;
+
+    private final Counter bytesSaved;
+
+    public ValueCompressor(String cacheName, int threshold, int level, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.level = level;
+        this.ratio = DistributionSummary.builder("cache.compression.ratio")
+                .description("压缩后与压缩前的大小比例")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.compressTime = Timer.builder("cache.compression.time")
+                .description("压缩和解压耗时")
+                .tag("cache", cacheName)
+                .tag("operation", "compress")
+                .register(meterRegistry);
+        this.decompressTime = Timer.builder("cache.compression.time")
+                .description("压缩和解压耗时")
+                .tag("cache", cacheName)
+                .tag("operation", "decompress")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("cache.compression.bytes.saved")
+                .description("压缩节省的字节数")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取压缩阈值。
+     *
+     * @return 压缩阈值（字节）
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * 达到阈值时压缩。
+     *
+     * @param bytes 序列化结果
+     * @return 压缩后的数据；未达到阈值或压缩后没有变小时返回原数组
+     */
+    public byte[] compress(byte[] bytes) {
+        if (bytes == null || bytes.length < threshold) {
+            return bytes;
+        }
+
+        long start = System.nanoTime();
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + HEADER_LENGTH);
+            out.write(MAGIC);
+            out.write(DEFLATE);
+            out.write(bytes.length >>> 24);
+            out.write(bytes.length >>> 16);
+            out.write(bytes.length >>> 8);
+            out.write(bytes.length);
+            byte[] buffer = new byte[Math.min(bytes.length, 64 * 1024)];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+                if (out.size() >= bytes.length) {
+                    // 没有压缩收益，保存原数据
+                    return bytes;
+                }
+            }
+            byte[] compressed = out.toByteArray();
+            ratio.record((double) compressed.length / bytes.length);
+            bytesSaved.increment(bytes.length - compressed.length);
+            return compressed;
+        } finally {
+            deflater.end();
+            compressTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 解压，未压缩的数据原样返回。
+     *
+     * @param bytes 读取到的数据
+     * @return 解压后的数据
+     */
+    public byte[] decompress(byte[] bytes) {
+        if (!isCompressed(bytes)) {
+            return bytes;
+        }
+        return decompress(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, originalLength(bytes));
+    }
+
+    /**
+     * 解压指定范围的数据。
+     *
+     * @param bytes          数据
+     * @param offset         压缩数据的起始位置（头部之后）
+     * @param length         压缩数据的长度
+     * @param originalLength 原始长度
+     * @return 解压后的数据
+     */
+    public byte[] decompress(byte[] bytes, int offset, int length, int originalLength) {
+        long start = System.nanoTime();
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes, offset, length);
+            byte[] result = new byte[originalLength];
+            int read = 0;
+            while (read < originalLength && !inflater.finished()) {
+                int n = inflater.inflate(result, read, originalLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != originalLength) {
+                throw new IllegalStateException("解压后的长度与头部记录不一致，期望: " + originalLength + "，实际: " + read);
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("缓存值解压失败", e);
+        } finally {
+            inflater.end();
+            decompressTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 判断数据是否为压缩格式。
+     *
+     * @param bytes 数据
+     * @return 是压缩格式返回true
+     */
+    public static boolean isCompressed(byte[] bytes) {
+        return bytes != null && bytes.length >= HEADER_LENGTH && bytes[0] == MAGIC && bytes[1] == DEFLATE;
+    }
+
+    /**
+     * 读取头部中的原始长度。
+     *
+     * @param header 至少包含头部的数据
+     * @return 原始长度
+     */
+    public static int originalLength(byte[] header) {
+        return (header[2] & 0xff) << 24 | (header[3] & 0xff) << 16 | (header[4] & 0xff) << 8 | (header[5] & 0xff);
+    }
+
+    /**
+     * 不移动读指针，判断ByteBuf中的数据是否为压缩格式。
+     *
+     * @param buf 数据
+     * @return 是压缩格式返回true
+     */
+    public static boolean isCompressed(ByteBuf buf) {
+        int index = buf.readerIndex();
+        return buf.readableBytes() >= HEADER_LENGTH && buf.getByte(index) == MAGIC && buf.getByte(index + 1) == DEFLATE;
+    }
+}
@@ -0,0 +1,168 @@
+package com.yueerba.framework.cache.snapshot;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Description: 本地缓存热点快照文件
+ * <p>
+ * 按缓存名称保存最热的原始key，文件通过内存映射读写，格式为：
+ * <pre>
+ * int 魔数 | int 版本 | long 保存时间 | int 缓存数 |
+ *     (short 名称长度 | 名称 | int key数 | (byte 类型 | int 长度 | key)*)*
+ * </pre>
+ * 只支持String、Long、Integer类型的key（以UTF-8文本保存并按类型还原），其它类型的key无法在重启后还原为同一个对象，保存时跳过。
+ * 写入先写临时文件再原子替换，进程在写入过程中退出不会留下不完整的快照。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public final class HotSetSnapshot {
+
+    private static final int MAGIC = 0x59454853;
+
+    private static final int VERSION = 1;
+
+    private static final byte STRING = 'S';
+
+    private static final byte LONG = 'L';
+
+    private static final byte INTEGER = 'I';
+
+    private HotSetSnapshot() {
+    }
+
+    /**
+     * 保存快照。
+     *
+     * @param file 快照文件
+     * @param keys 缓存名称到最热key的映射，不支持的key类型被跳过
+     * @return 保存的key数
+     * @throws IOException 写入失败
+     */
+    public static int write(Path file, Map<String, List<Object>> keys) throws IOException {
+        Map<byte[], List<byte[]>> encoded = new LinkedHashMap<>(keys.size() * 4 / 3 + 1);
+        long size = 4 + 4 + 8 + 4;
+        int count = 0;
+        for (Map.Entry<String, List<Object>> entry : keys.entrySet()) {
+            byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            List<byte[]> cacheKeys = new ArrayList<>(entry.getValue().size());
+            size += 2 + name.length + 4;
+            for (Object key : entry.getValue()) {
+                byte[] bytes = encodeKey(key);
+                if (bytes != null) {
+                    cacheKeys.add(bytes);
+                    size += 1 + 4 + bytes.length - 1;
+                }
+            }
+            encoded.put(name, cacheKeys);
+            count += cacheKeys.size();
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis()).putInt(encoded.size());
+            encoded.forEach((name, cacheKeys) -> {
+                buffer.putShort((short) name.length).put(name).putInt(cacheKeys.size());
+                for (byte[] key : cacheKeys) {
+                    // 第一个字节是类型，其后是key文本
+                    buffer.put(key[0]).putInt(key.length - 1).put(key, 1, key.length - 1);
+                }
+            });
+            buffer.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * 读取快照。
+     *
+     * @param file 快照文件
+     * @return 缓存名称到最热key（从热到冷）的映射，文件不存在时为空
+     * @throws IOException 读取失败或文件已损坏
+     */
+    public static Map<String, List<Object>> read(Path file) throws IOException {
+        Map<String, List<Object>> keys = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return keys;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("不支持的快照文件格式: " + file);
+            }
+            buffer.getLong();
+            int caches = buffer.getInt();
+            for (int i = 0; i < caches; i++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                int count = buffer.getInt();
+                List<Object> cacheKeys = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    byte type = buffer.get();
+                    byte[] text = new byte[buffer.getInt()];
+                    buffer.get(text);
+                    cacheKeys.add(decodeKey(type, new String(text, StandardCharsets.UTF_8)));
+                }
+                keys.put(new String(name, StandardCharsets.UTF_8), cacheKeys);
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException | NumberFormatException e) {
+            throw new IOException("快照文件已损坏: " + file, e);
+        }
+        return keys;
+    }
+
+    /**
+     * 编码key，第一个字节为类型。
+     *
+     * @param key 原始key
+     * @return 编码结果，不支持的类型返回null
+     */
+    private static byte[] encodeKey(Object key) {
+        byte type;
+        if (key instanceof String) {
+            type = STRING;
+        } else if (key instanceof Long) {
+            type = LONG;
+        } else if (key instanceof Integer) {
+            type = INTEGER;
+        } else {
+            return null;
+        }
+        byte[] text = key.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[text.length + 1];
+        bytes[0] = type;
+        System.arraycopy(text, 0, bytes, 1, text.length);
+        return bytes;
+    }
+
+    private static Object decodeKey(byte type, String text) throws IOException {
+        switch (type) {
+            case STRING:
+                return text;
+            case LONG:
+                return Long.valueOf(text);
+            case INTEGER:
+                return Integer.valueOf(text);
+            default:
+                throw new IOException("未知的key类型: " + type);
+        }
+    }
+}
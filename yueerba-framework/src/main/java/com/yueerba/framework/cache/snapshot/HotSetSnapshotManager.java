@@ -0,0 +1,171 @@
+package com.yueerba.framework.cache.snapshot;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.extra.spring.SpringUtil;
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import com.yueerba.framework.cache.manager.RedisCaffeineCacheManager;
+import com.yueerba.framework.cache.manager.custom.RedisCaffeineCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 本地缓存热点快照管理
+ * <p>
+ * 滚动发布时每个节点的本地缓存都从空开始，重启后的一段时间内对Redis的访问量成倍增加：
+ * <ul>
+ *     <li>关闭时按Caffeine的访问频率取每个缓存最热的topN个key，写入本地快照文件；</li>
+ *     <li>启动时在{@link ApplicationRunner}中按快照创建缓存，并按批pipeline从Redis读取这些key回填本地缓存。
+ *     Spring Boot在所有ApplicationRunner执行完成后才将就绪状态切换为ACCEPTING_TRAFFIC，预热完成前节点不接收流量。</li>
+ * </ul>
+ * 快照只保存key，值总是从Redis读取，不会回填过期或已被修改的值。单个缓存预热失败不影响启动。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
+public class HotSetSnapshotManager implements ApplicationRunner {
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    /**
+     * 关闭时从缓存管理器读取热点key，依赖它保证缓存在本组件之后销毁
+     */
+    @Resource
+    private RedisCaffeineCacheManager redisCaffeineCacheManager;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        CacheProperties.Snapshot config = cacheProperties.getSnapshot();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        Path file = snapshotFile(config);
+        Map<String, List<Object>> snapshot;
+        try {
+            snapshot = HotSetSnapshot.read(file);
+        } catch (IOException e) {
+            log.warn("读取本地缓存热点快照失败，跳过预热，文件: {}", file, e);
+            return;
+        }
+        if (snapshot.isEmpty()) {
+            log.info("没有本地缓存热点快照，跳过预热，文件: {}", file);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int total = 0;
+        int loaded = 0;
+        for (Map.Entry<String, List<Object>> entry : snapshot.entrySet()) {
+            String cacheName = entry.getKey();
+            List<Object> keys = entry.getValue();
+            Cache cache = redisCaffeineCacheManager.getCache(cacheName);
+            if (!(cache instanceof RedisCaffeineCache) || keys.isEmpty()) {
+                continue;
+            }
+            long cacheStart = System.nanoTime();
+            int cacheLoaded;
+            try {
+                cacheLoaded = ((RedisCaffeineCache) cache).warmUp(keys, config.getBatchSize());
+            } catch (RuntimeException e) {
+                log.warn("按热点快照预热本地缓存失败，缓存: {}，key数: {}", cacheName, keys.size(), e);
+                continue;
+            }
+            long elapsed = System.nanoTime() - cacheStart;
+            record(cacheName, elapsed, cacheLoaded, keys.size());
+            log.info("按热点快照预热本地缓存，缓存: {}，快照key数: {}，已回填: {}，覆盖率: {}%，耗时: {}ms", cacheName,
+                    keys.size(), cacheLoaded, cacheLoaded * 100 / keys.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            total += keys.size();
+            loaded += cacheLoaded;
+        }
+        log.info("本地缓存预热完成，缓存数: {}，快照key数: {}，已回填: {}，耗时: {}ms", snapshot.size(), total, loaded,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * 记录单个缓存的预热耗时和覆盖率（Redis中仍存在的key占快照key的比例）。
+     *
+     * @param cacheName 缓存名称
+     * @param elapsed   耗时（纳秒）
+     * @param loaded    已回填的key数
+     * @param total     快照中的key数
+     */
+    private void record(String cacheName, long elapsed, int loaded, int total) {
+        Timer.builder("cache.snapshot.reload")
+                .description("按热点快照预热本地缓存的耗时")
+                .tag("cache", cacheName)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        double coverage = (double) loaded / total;
+        Gauge.builder("cache.snapshot.coverage", () -> coverage)
+                .description("按热点快照预热时Redis中仍存在的key占快照key的比例")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        CacheProperties.Snapshot config = cacheProperties.getSnapshot();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        Map<String, List<Object>> snapshot = new LinkedHashMap<>();
+        for (String cacheName : redisCaffeineCacheManager.getCacheNames()) {
+            Cache cache = redisCaffeineCacheManager.getCache(cacheName);
+            if (cache instanceof RedisCaffeineCache) {
+                snapshot.put(cacheName, ((RedisCaffeineCache) cache).hottestKeys(config.getTopN()));
+            }
+        }
+
+        Path file = snapshotFile(config);
+        try {
+            int count = HotSetSnapshot.write(file, snapshot);
+            log.info("已保存本地缓存热点快照，缓存数: {}，key数: {}，文件: {}", snapshot.size(), count, file);
+        } catch (IOException e) {
+            log.warn("保存本地缓存热点快照失败，文件: {}", file, e);
+        }
+    }
+
+    /**
+     * 快照文件路径，未配置时按应用名和实例标识生成，避免同一台机器上的多个应用或实例读写同一个文件。
+     *
+     * @param config 快照配置
+     * @return 快照文件路径
+     */
+    private Path snapshotFile(CacheProperties.Snapshot config) {
+        if (StrUtil.isNotBlank(config.getFile())) {
+            return Paths.get(config.getFile());
+        }
+        String instanceId = SpringUtil.getProperty("spring.application.instance-id");
+        if (StrUtil.isBlank(instanceId)) {
+            instanceId = SpringUtil.getProperty("local.server.port");
+        }
+        if (StrUtil.isBlank(instanceId)) {
+            instanceId = SpringUtil.getProperty("server.port");
+        }
+        String fileName = StrUtil.join("-", SpringUtil.getApplicationName(),
+                StrUtil.blankToDefault(instanceId, "default"), "cache-snapshot.bin");
+        return Paths.get(System.getProperty("java.io.tmpdir"), fileName);
+    }
+}
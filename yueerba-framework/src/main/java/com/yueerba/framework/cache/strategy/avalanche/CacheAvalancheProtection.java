@@ -1,4 +1,94 @@
 package com.yueerba.framework.cache.strategy.avalanche;
 
-public class CacheAvalancheProtection {
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 缓存雪崩防护
+ * <p>
+ * 默认的Redis过期时间策略，避免大量key在同一时刻过期集中回源：
+ * <ul>
+ *     <li>配置了redisExpires的缓存，以配置值为基准上下浮动jitterRatio；</li>
+ *     <li>未配置的缓存，在[timeOutBegin, timeOutEnd]秒之间均匀随机；</li>
+ *     <li>批量写入达到batchSpreadThreshold时，把过期时间按分层抽样均匀铺满整个区间，
+ *     即使预热一次性写入大量key，每秒到期的key数量也大致相同；区间过窄时以基准值为中心放宽到minBatchSpread，
+ *     但不超过基准值的maxBatchSpreadRatio，过期时间较短的缓存不会被拉长。</li>
+ * </ul>
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
+public class CacheAvalancheProtection implements RedisExpirePolicy {
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    @Override
+    public long expireMillis(String cacheName) {
+        long[] range = range(cacheName);
+        return random(range[0], range[1]);
+    }
+
+    @Override
+    public long[] expireMillis(String cacheName, int count) {
+        CacheProperties.Avalanche avalanche = cacheProperties.getAvalanche();
+        if (count < avalanche.getBatchSpreadThreshold()) {
+            return RedisExpirePolicy.super.expireMillis(cacheName, count);
+        }
+
+        long[] range = range(cacheName);
+        long base = (range[0] + range[1]) / 2;
+        long maxSpread = (long) (base * avalanche.getMaxBatchSpreadRatio());
+        long span = Math.max(range[1] - range[0], Math.min(avalanche.getMinBatchSpread(), maxSpread));
+        long lower = Math.max(1, base - span / 2);
+
+        // 分层抽样：区间等分为count份，每个值落在自己那一份中的随机位置
+        long[] expires = new long[count];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            expires[i] = lower + (long) (span * ((i + random.nextDouble()) / count));
+        }
+        log.debug("批量写入过期时间分散，缓存: {}，数量: {}，区间: [{}, {}]毫秒", cacheName, count, lower, lower + span);
+        return expires;
+    }
+
+    @Override
+    public long nullValueExpireMillis(String cacheName) {
+        long expire = cacheProperties.getAvalanche().getNullValueExpire();
+        return jitter(expire);
+    }
+
+    /**
+     * 计算缓存过期时间的取值区间。
+     *
+     * @param cacheName 缓存名称
+     * @return [下限, 上限]，单位毫秒
+     */
+    private long[] range(String cacheName) {
+        Long expire = cacheProperties.getRedisExpires().get(cacheName);
+        if (expire != null && expire > 0) {
+            long delta = (long) (expire * cacheProperties.getAvalanche().getJitterRatio());
+            return new long[]{Math.max(1, expire - delta), expire + delta};
+        }
+        return new long[]{TimeUnit.SECONDS.toMillis(cacheProperties.getTimeOutBegin()),
+                TimeUnit.SECONDS.toMillis(cacheProperties.getTimeOutEnd())};
+    }
+
+    /**
+     * 在基准值上下浮动jitterRatio。
+     */
+    private long jitter(long expire) {
+        long delta = (long) (expire * cacheProperties.getAvalanche().getJitterRatio());
+        return random(Math.max(1, expire - delta), expire + delta);
+    }
+
+    private long random(long lower, long upper) {
+        return upper <= lower ? Math.max(1, lower) : ThreadLocalRandom.current().nextLong(lower, upper + 1);
+    }
 }
@@ -0,0 +1,43 @@
+package com.yueerba.framework.cache.strategy.avalanche;
+
+/**
+ * Description: Redis过期时间策略
+ * <p>
+ * 二级缓存所有写入Redis的路径都通过该策略计算过期时间。默认实现为{@link CacheAvalancheProtection}，
+ * 如需替换，声明一个标注了{@code @Primary}的实现即可。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public interface RedisExpirePolicy {
+
+    /**
+     * 计算单个值的过期时间。
+     *
+     * @param cacheName 缓存名称
+     * @return 过期时间（毫秒），大于0
+     */
+    long expireMillis(String cacheName);
+
+    /**
+     * 计算一批值的过期时间，批量写入时调用，实现应让这批值的过期时间尽量分散。
+     *
+     * @param cacheName 缓存名称
+     * @param count     值的数量
+     * @return 每个值的过期时间（毫秒），长度为count
+     */
+    default long[] expireMillis(String cacheName, int count) {
+        long[] expires = new long[count];
+        for (int i = 0; i < count; i++) {
+            expires[i] = expireMillis(cacheName);
+        }
+        return expires;
+    }
+
+    /**
+     * 计算空值（防穿透占位）的过期时间。
+     *
+     * @param cacheName 缓存名称
+     * @return 过期时间（毫秒），大于0
+     */
+    long nullValueExpireMillis(String cacheName);
+}
@@ -1,4 +1,167 @@
 package com.yueerba.framework.cache.strategy.breakdown;
 
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import com.yueerba.framework.cache.lock.RedisDistributedLock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Description: 缓存击穿防护（stale-while-revalidate）
+ * <p>
+ * 热点key逻辑过期后，调用方立即拿到旧值；同一个key在本节点只提交一次后台刷新，
+ * 刷新前再通过分布式锁保证整个集群只有一个节点执行加载，其它节点直接跳过。
+ * 超过最大陈旧时长的值不再返回，调用方走同步加载。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
 public class CacheBreakdownProtection {
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    @Resource
+    private RedisDistributedLock redisDistributedLock;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 本节点正在刷新的缓存key
+     */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 按缓存名称和指标名缓存的计数器
+     */
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 后台刷新线程池
+     */
+    private ThreadPoolExecutor refreshExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger index = new AtomicInteger();
+        int threads = cacheProperties.getStaleRefreshThreads();
+        this.refreshExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(cacheProperties.getStaleRefreshQueueSize()),
+                r -> {
+                    Thread thread = new Thread(r, "cache-stale-refresh-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        refreshExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 获取缓存的最大陈旧时长。
+     *
+     * @param cacheName 缓存名称
+     * @return 最大陈旧时长（毫秒），未开启stale-while-revalidate模式时返回0
+     */
+    public long maxStaleness(String cacheName) {
+        Long maxStaleness = cacheProperties.getMaxStaleness().get(cacheName);
+        return maxStaleness == null || maxStaleness < 0 ? 0 : maxStaleness;
+    }
+
+    /**
+     * 记录一次返回陈旧值。
+     *
+     * @param cacheName 缓存名称
+     */
+    public void recordStaleServe(String cacheName) {
+        counter("cache.stale.serves", cacheName, null).increment();
+    }
+
+    /**
+     * 记录一次值超过最大陈旧时长、改为同步加载。
+     *
+     * @param cacheName 缓存名称
+     */
+    public void recordStaleExpired(String cacheName) {
+        counter("cache.stale.expired", cacheName, null).increment();
+    }
+
+    /**
+     * 提交后台刷新。同一个key在本节点同一时刻只会有一个刷新任务，
+     * 执行前尝试获取分布式锁，获取失败说明其它节点正在刷新，直接跳过。
+     * 线程池已满时放弃刷新，调用方继续使用旧值。
+     *
+     * @param cacheName 缓存名称
+     * @param cacheKey  完整的缓存key
+     * @param lockKey   分布式锁key
+     * @param refresher 刷新逻辑
+     */
+    public void refreshAsync(String cacheName, String cacheKey, String lockKey, Callable<?> refresher) {
+        if (!refreshing.add(cacheKey)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh(cacheName, cacheKey, lockKey, refresher);
+                } finally {
+                    refreshing.remove(cacheKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(cacheKey);
+            counter("cache.stale.refresh", cacheName, "rejected").increment();
+            log.debug("后台刷新线程池已满，放弃刷新，键: {}", cacheKey);
+        }
+    }
+
+    /**
+     * 在分布式锁保护下执行刷新。
+     */
+    private void refresh(String cacheName, String cacheKey, String lockKey, Callable<?> refresher) {
+        RLock lock = redisDistributedLock.getLock(lockKey);
+        if (!lock.tryLock()) {
+            counter("cache.stale.refresh", cacheName, "skipped").increment();
+            log.debug("其它节点正在刷新，跳过，键: {}", cacheKey);
+            return;
+        }
+
+        try {
+            refresher.call();
+            counter("cache.stale.refresh", cacheName, "success").increment();
+            log.debug("后台刷新完成，键: {}", cacheKey);
+        } catch (Exception e) {
+            counter("cache.stale.refresh", cacheName, "failure").increment();
+            log.warn("后台刷新失败，继续使用旧值，键: {}", cacheKey, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取或创建计数器。
+     */
+    private Counter counter(String name, String cacheName, String result) {
+        String id = name + '|' + cacheName + '|' + result;
+        return counters.computeIfAbsent(id, k -> result == null
+                ? meterRegistry.counter(name, "cache", cacheName)
+                : meterRegistry.counter(name, "cache", cacheName, "result", result));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
 }
@@ -0,0 +1,43 @@
+package com.yueerba.framework.cache.strategy.breakdown;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Description: 带逻辑过期时间的缓存值
+ * <p>
+ * 开启stale-while-revalidate模式的缓存在Caffeine和Redis中都存储该包装对象，
+ * 逻辑过期后仍可在最大陈旧时长内返回旧值，同时由后台线程刷新。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogicalExpireValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 实际缓存值
+     */
+    private Object value;
+
+    /**
+     * 逻辑过期时间（毫秒时间戳）
+     */
+    private long expireTime;
+
+    /**
+     * 是否已逻辑过期
+     *
+     * @param now 当前时间（毫秒时间戳）
+     * @return 已过期返回true
+     */
+    public boolean isExpired(long now) {
+        return now >= expireTime;
+    }
+}
@@ -1,4 +1,92 @@
 package com.yueerba.framework.cache.strategy.filter;
 
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 布隆过滤器策略
+ * <p>
+ * 为每个缓存创建{@link LocalBloomFilter}本地镜像，缓存未命中时的存在性判断只访问本地内存；
+ * 所有镜像由一个后台线程按syncInterval定时与Redis批量同步。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
 public class BloomFilterStrategy {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    /**
+     * 各缓存的布隆过滤器镜像，key为缓存名称
+     */
+    private final Map<String, LocalBloomFilter> filters = new ConcurrentHashMap<>();
+
+    /**
+     * 同步调度线程
+     */
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        long interval = cacheProperties.getBloomFilter().getSyncInterval();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-bloom-filter-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::syncAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 为缓存创建布隆过滤器镜像，并立即完成一次同步。
+     *
+     * @param cacheName 缓存名称
+     * @param name      Redis中位图key的前缀
+     * @return 布隆过滤器镜像
+     */
+    public LocalBloomFilter create(String cacheName, String name) {
+        return filters.computeIfAbsent(cacheName, k -> {
+            CacheProperties.BloomFilter config = cacheProperties.getBloomFilter();
+            LocalBloomFilter filter = new LocalBloomFilter(name, redissonClient, config.getExpectedInsertions(),
+                    config.getFalseProbability(), config.getGenerations());
+            sync(cacheName, filter);
+            return filter;
+        });
+    }
+
+    /**
+     * 同步所有镜像，单个失败不影响其它。
+     */
+    private void syncAll() {
+        filters.forEach(this::sync);
+    }
+
+    private void sync(String cacheName, LocalBloomFilter filter) {
+        try {
+            filter.sync();
+        } catch (Exception e) {
+            log.warn("布隆过滤器同步失败，缓存: {}", cacheName, e);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
 }
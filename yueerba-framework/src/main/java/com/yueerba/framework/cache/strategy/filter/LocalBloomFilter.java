@@ -0,0 +1,361 @@
+package com.yueerba.framework.cache.strategy.filter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.*;
+import org.redisson.misc.Hash;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Description: 单个缓存的本地布隆过滤器镜像
+ * <p>
+ * Redis中按代保存多个位图（{name}:{代号}），代号由{name}:generation计数器维护。本地为最近的若干代各保存一份位图：
+ * <ul>
+ *     <li>查询只读本地位图，不访问Redis；</li>
+ *     <li>新增同时置位本地位图，并把SETBIT异步（或随调用方的批处理）写入Redis最新一代；</li>
+ *     <li>定时拉取Redis中各代的完整位图与本地合并（按位或），获得其它节点新增的key；</li>
+ *     <li>最新一代的估算元素数达到expectedInsertions后切换到新的一代，超出保留代数的最老一代被删除。</li>
+ * </ul>
+ * 每代的误判率为falseProbability / generations，保证所有代合起来的误判率不超过falseProbability。
+ * 镜像可能暂时缺少其它节点刚写入的key，或因淘汰最老一代而遗漏很久以前写入的key，调用方需把“不存在”当作提示，
+ * 在加锁后仍以Redis中的实际值为准。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+public class LocalBloomFilter {
+
+    /**
+     * Redis中位图key的前缀
+     */
+    private final String name;
+
+    /**
+     * Redisson客户端
+     */
+    private final RedissonClient redissonClient;
+
+    /**
+     * 当前代号计数器
+     */
+    private final RAtomicLong generationCounter;
+
+    /**
+     * 每代预期元素数量
+     */
+    private final long expectedInsertions;
+
+    /**
+     * 保留的代数
+     */
+    private final int maxGenerations;
+
+    /**
+     * 每代位图的位数
+     */
+    private final long size;
+
+    /**
+     * 哈希函数个数
+     */
+    private final int hashIterations;
+
+    /**
+     * 本地保存的各代位图，最新的一代在最前，整体替换保证读取无锁
+     */
+    private volatile List<Generation> generations = Collections.emptyList();
+
+    public LocalBloomFilter(String name, RedissonClient redissonClient, long expectedInsertions,
+                            double falseProbability, int maxGenerations) {
+        this.name = name;
+        this.redissonClient = redissonClient;
+        this.generationCounter = redissonClient.getAtomicLong(name + ":generation");
+        this.expectedInsertions = expectedInsertions;
+        this.maxGenerations = Math.max(1, maxGenerations);
+
+        // 每代误判率取总误判率的1/maxGenerations
+        double probability = falseProbability / this.maxGenerations;
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(probability) / (Math.log(2) * Math.log(2)));
+        if (bits > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("布隆过滤器位数超过上限，请减小expectedInsertions，名称: " + name);
+        }
+        this.size = Math.max(64, bits);
+        this.hashIterations = Math.max(1, (int) Math.round((double) size / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * 判断key是否可能已经添加过，只访问本地位图。
+     *
+     * @param key 完整的缓存key
+     * @return 可能存在返回true，一定未添加（或镜像尚未同步）返回false
+     */
+    public boolean mightContain(String key) {
+        return mightContain(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 判断已编码的key是否可能存在。
+     *
+     * @param key 完整缓存key的UTF-8字节
+     * @return 可能存在返回true，一定不存在返回false
+     */
+    public boolean mightContain(byte[] key) {
+        List<Generation> current = generations;
+        if (current.isEmpty()) {
+            // 尚未完成首次同步，不能断定不存在
+            return true;
+        }
+        long[] indexes = indexes(key);
+        for (Generation generation : current) {
+            if (generation.containsAll(indexes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 添加key：置位本地位图，并异步写入Redis最新一代。
+     *
+     * @param key 完整的缓存key
+     */
+    public void add(String key) {
+        add(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 添加已编码的key：置位本地位图，并异步写入Redis最新一代。
+     *
+     * @param key 完整缓存key的UTF-8字节
+     */
+    public void add(byte[] key) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+                .executionMode(BatchOptions.ExecutionMode.IN_MEMORY)
+                .skipResult());
+        add(batch, key);
+        batch.executeAsync().whenComplete((result, e) -> {
+            if (e != null) {
+                log.warn("布隆过滤器写入Redis失败，名称: {}，键: {}", name, new String(key, StandardCharsets.UTF_8), e);
+            }
+        });
+    }
+
+    /**
+     * 添加key：置位本地位图，Redis置位命令加入调用方的批处理，随批处理一起执行。
+     *
+     * @param batch 批处理
+     * @param key   完整的缓存key
+     */
+    public void add(RBatch batch, String key) {
+        add(batch, key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 添加已编码的key，Redis置位命令加入调用方的批处理。
+     *
+     * @param batch 批处理
+     * @param key   完整缓存key的UTF-8字节
+     */
+    public void add(RBatch batch, byte[] key) {
+        long[] indexes = indexes(key);
+        List<Generation> current = generations;
+        long generation;
+        if (current.isEmpty()) {
+            generation = 0;
+        } else {
+            current.get(0).setAll(indexes);
+            generation = current.get(0).id;
+        }
+
+        RBitSetAsync bits = batch.getBitSet(bitSetName(generation));
+        for (long index : indexes) {
+            bits.setAsync(index, true);
+        }
+    }
+
+    /**
+     * 与Redis同步：读取当前代号，拉取保留范围内各代的完整位图合并到本地，
+     * 最新一代已满时切换到新的一代并删除超出保留范围的一代。
+     */
+    public void sync() {
+        long current = generationCounter.get();
+        long oldest = Math.max(0, current - maxGenerations + 1);
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+                .executionMode(BatchOptions.ExecutionMode.IN_MEMORY));
+        Map<Long, RFuture<byte[]>> futures = new HashMap<>();
+        for (long id = current; id >= oldest; id--) {
+            futures.put(id, batch.getBitSet(bitSetName(id)).toByteArrayAsync());
+        }
+        batch.execute();
+
+        Map<Long, Generation> existing = new HashMap<>();
+        generations.forEach(generation -> existing.put(generation.id, generation));
+        List<Generation> synced = new ArrayList<>();
+        for (long id = current; id >= oldest; id--) {
+            Generation generation = existing.getOrDefault(id, new Generation(id, size));
+            generation.merge(futures.get(id).getNow());
+            synced.add(generation);
+        }
+        this.generations = Collections.unmodifiableList(synced);
+
+        Generation newest = synced.get(0);
+        if (newest.estimatedInsertions(hashIterations) >= expectedInsertions) {
+            rotate(current);
+        }
+    }
+
+    /**
+     * 切换到新的一代。多个节点同时切换时只有一个成功。
+     *
+     * @param current 当前代号
+     */
+    private void rotate(long current) {
+        if (!generationCounter.compareAndSet(current, current + 1)) {
+            return;
+        }
+        long expired = current + 1 - maxGenerations;
+        if (expired >= 0) {
+            redissonClient.getBitSet(bitSetName(expired)).unlinkAsync();
+        }
+
+        List<Generation> rotated = new ArrayList<>(generations);
+        rotated.add(0, new Generation(current + 1, size));
+        while (rotated.size() > maxGenerations) {
+            rotated.remove(rotated.size() - 1);
+        }
+        this.generations = Collections.unmodifiableList(rotated);
+        log.info("布隆过滤器切换到新的一代，名称: {}，代号: {}", name, current + 1);
+    }
+
+    /**
+     * 获取本地保存的代数。
+     *
+     * @return 代数
+     */
+    public int generationCount() {
+        return generations.size();
+    }
+
+    /**
+     * 按Redisson布隆过滤器相同的双重哈希算法计算key对应的位下标。
+     */
+    private long[] indexes(byte[] key) {
+        ByteBuf state = Unpooled.wrappedBuffer(key);
+        long[] hashes;
+        try {
+            hashes = Hash.hash128(state);
+        } finally {
+            state.release();
+        }
+
+        long[] indexes = new long[hashIterations];
+        long hash = hashes[0];
+        for (int i = 0; i < hashIterations; i++) {
+            indexes[i] = (hash & Long.MAX_VALUE) % size;
+            hash += (i % 2 == 0) ? hashes[1] : hashes[0];
+        }
+        return indexes;
+    }
+
+    private String bitSetName(long generation) {
+        return name + ":" + generation;
+    }
+
+    /**
+     * Description: 一代位图
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    private static class Generation {
+
+        /**
+         * 代号
+         */
+        private final long id;
+
+        /**
+         * 位图，第i位位于words[i / 64]的第(i % 64)位
+         */
+        private final AtomicLongArray words;
+
+        /**
+         * 位图的位数
+         */
+        private final long size;
+
+        Generation(long id, long size) {
+            this.id = id;
+            this.size = size;
+            this.words = new AtomicLongArray((int) ((size + 63) >>> 6));
+        }
+
+        boolean containsAll(long[] indexes) {
+            for (long index : indexes) {
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void setAll(long[] indexes) {
+            for (long index : indexes) {
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                if ((words.get(word) & mask) == 0) {
+                    words.accumulateAndGet(word, mask, (a, b) -> a | b);
+                }
+            }
+        }
+
+        /**
+         * 合并Redis位图。Redis中第i位位于第(i / 8)个字节的高位起第(i % 8)位，按字节翻转后拼成本地的long。
+         *
+         * @param bytes Redis位图，可能短于本地位图
+         */
+        void merge(byte[] bytes) {
+            if (bytes == null) {
+                return;
+            }
+            int length = (int) Math.min(bytes.length, (size + 7) >>> 3);
+            for (int word = 0; word << 3 < length; word++) {
+                long value = 0;
+                for (int i = 0; i < 8 && (word << 3) + i < length; i++) {
+                    int b = bytes[(word << 3) + i] & 0xff;
+                    if (b != 0) {
+                        value |= (long) (Integer.reverse(b) >>> 24) << (i << 3);
+                    }
+                }
+                if (value != 0) {
+                    words.accumulateAndGet(word, value, (a, b) -> a | b);
+                }
+            }
+        }
+
+        /**
+         * 按置位比例估算已添加的元素数：n = -(m / k) * ln(1 - X / m)。
+         *
+         * @param hashIterations 哈希函数个数
+         * @return 估算的元素数
+         */
+        long estimatedInsertions(int hashIterations) {
+            long bits = 0;
+            for (int i = 0; i < words.length(); i++) {
+                bits += Long.bitCount(words.get(i));
+            }
+            if (bits >= size) {
+                return Long.MAX_VALUE;
+            }
+            return (long) (-(double) size / hashIterations * Math.log(1 - (double) bits / size));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.yueerba.framework.cache.strategy.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 本地负缓存
+ * <p>
+ * 记录确认不存在（加载器返回null或Redis中为防穿透空值）的原始key，与本地缓存分开存放：
+ * 使用更短的过期时间和独立的容量，扫描大量不存在id的请求不会挤占正常条目，也不会再访问Redis。
+ * 只保存key，每个条目的值为同一个{@link Boolean#TRUE}。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class LocalNegativeCache {
+
+    private final Cache<Object, Boolean> keys;
+
+    public LocalNegativeCache(long expireMillis, long maximumSize) {
+        this.keys = Caffeine.newBuilder()
+                .expireAfterWrite(expireMillis, TimeUnit.MILLISECONDS)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * 判断key是否已确认不存在。
+     *
+     * @param key 原始key
+     * @return 是否在负缓存中
+     */
+    public boolean contains(Object key) {
+        return keys.getIfPresent(key) != null;
+    }
+
+    /**
+     * 记录key不存在。
+     *
+     * @param key 原始key
+     */
+    public void put(Object key) {
+        keys.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * 移除key，key被写入或删除时调用。
+     *
+     * @param key 原始key
+     */
+    public void invalidate(Object key) {
+        keys.invalidate(key);
+    }
+
+    /**
+     * 移除多个key。
+     *
+     * @param keys 原始key
+     */
+    public void invalidateAll(Iterable<?> keys) {
+        this.keys.invalidateAll(keys);
+    }
+
+    /**
+     * 清空负缓存。
+     */
+    public void invalidateAll() {
+        keys.invalidateAll();
+    }
+
+    /**
+     * 当前条目数（估算值）。
+     *
+     * @return 条目数
+     */
+    public long size() {
+        return keys.estimatedSize();
+    }
+}
@@ -0,0 +1,47 @@
+package com.yueerba.framework.cache.strategy.filter;
+
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/**
+ * Description: 本地负缓存策略
+ * <p>
+ * 为每个缓存创建{@link LocalNegativeCache}，过期时间和容量优先使用为该缓存名称单独配置的值。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Component
+public class NegativeCacheStrategy {
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 为缓存创建本地负缓存。
+     *
+     * @param cacheName 缓存名称
+     * @return 负缓存，未开启时返回null
+     */
+    public LocalNegativeCache create(String cacheName) {
+        CacheProperties.NegativeCache config = cacheProperties.getNegativeCache();
+        if (!config.isEnabled()) {
+            return null;
+        }
+
+        LocalNegativeCache negativeCache = new LocalNegativeCache(
+                config.getExpires().getOrDefault(cacheName, config.getExpire()),
+                config.getMaximumSizes().getOrDefault(cacheName, config.getMaximumSize()));
+        Gauge.builder("cache.negative.size", negativeCache, LocalNegativeCache::size)
+                .description("本地负缓存中确认不存在的key数")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        return negativeCache;
+    }
+}
@@ -0,0 +1,62 @@
+package com.yueerba.framework.cache.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Description: 缓存变更事件，用于在节点之间广播本地缓存失效
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheChange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 变更类型
+     */
+    private EventType eventType;
+
+    /**
+     * 缓存名称
+     */
+    private String cacheName;
+
+    /**
+     * 原始缓存key（本地缓存使用的key）；CLEAR事件为清空后的命名空间代号，队列溢出降级产生的CLEAR事件为null
+     */
+    private Object key;
+
+    /**
+     * 事件产生时间（毫秒），用于统计发布延迟
+     */
+    private long createTime;
+
+    public CacheChange(EventType eventType, String cacheName, Object key) {
+        this(eventType, cacheName, key, System.currentTimeMillis());
+    }
+
+    /**
+     * 变更类型
+     */
+    public enum EventType {
+        /**
+         * 新增或更新
+         */
+        ADD,
+        /**
+         * 删除
+         */
+        DELETE,
+        /**
+         * 清空整个缓存
+         */
+        CLEAR
+    }
+}
@@ -0,0 +1,36 @@
+package com.yueerba.framework.cache.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Description: 合并后的缓存变更广播消息，一条消息携带一批失效事件
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheChangeMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 发送消息的节点ID，接收方据此忽略本节点发出的消息
+     */
+    private String nodeId;
+
+    /**
+     * 消息发布时间（毫秒），用于统计应用延迟
+     */
+    private long publishTime;
+
+    /**
+     * 合并后的变更事件
+     */
+    private List<CacheChange> changes;
+}
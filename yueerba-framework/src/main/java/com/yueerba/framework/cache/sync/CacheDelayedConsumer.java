@@ -0,0 +1,140 @@
+package com.yueerba.framework.cache.sync;
+
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import com.yueerba.framework.cache.manager.custom.RedisCaffeineCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.SerializationCodec;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 缓存变更消费者
+ * <p>
+ * 订阅缓存失效广播，忽略本节点发出的消息，将其它节点的变更应用到本节点对应缓存的Caffeine本地缓存上。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
+public class CacheDelayedConsumer {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private CacheDelayedProducer cacheDelayedProducer;
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 本节点已创建的缓存，key为缓存名称
+     */
+    private final Map<String, RedisCaffeineCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 应用延迟：消息发布到本节点应用完成的耗时
+     */
+    private Timer applyLag;
+
+    /**
+     * 已应用的变更事件数
+     */
+    private Counter appliedChanges;
+
+    /**
+     * 广播频道
+     */
+    private RTopic topic;
+
+    /**
+     * 监听器ID
+     */
+    private int listenerId;
+
+    @PostConstruct
+    public void init() {
+        this.applyLag = Timer.builder("cache.sync.apply.lag")
+                .description("缓存失效消息从发布到本节点应用完成的延迟")
+                .register(meterRegistry);
+        this.appliedChanges = Counter.builder("cache.sync.applied")
+                .description("本节点应用的远端缓存失效事件数")
+                .register(meterRegistry);
+
+        if (!cacheProperties.getSync().isEnabled()) {
+            return;
+        }
+
+        this.topic = redissonClient.getTopic(cacheDelayedProducer.getTopicName(), new SerializationCodec());
+        this.listenerId = topic.addListener(CacheChangeMessage.class, (channel, message) -> processCacheChangeMessage(message));
+        log.info("订阅跨节点缓存失效广播，频道: {}", cacheDelayedProducer.getTopicName());
+    }
+
+    /**
+     * 注册缓存实例，注册后才能接收该缓存的远端失效事件。
+     *
+     * @param cache 缓存实例
+     */
+    public void register(RedisCaffeineCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    /**
+     * 处理一条广播消息，本节点发出的消息直接忽略。
+     *
+     * @param message 广播消息
+     */
+    public void processCacheChangeMessage(CacheChangeMessage message) {
+        if (cacheDelayedProducer.getNodeId().equals(message.getNodeId())) {
+            return;
+        }
+
+        for (CacheChange cacheChange : message.getChanges()) {
+            processCacheChange(cacheChange);
+        }
+        appliedChanges.increment(message.getChanges().size());
+        applyLag.record(Math.max(0, System.currentTimeMillis() - message.getPublishTime()), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 将单个变更事件应用到本地缓存。
+     *
+     * @param cacheChange 变更事件
+     */
+    public void processCacheChange(CacheChange cacheChange) {
+        RedisCaffeineCache cache = caches.get(cacheChange.getCacheName());
+        if (cache == null) {
+            return;
+        }
+
+        log.debug("应用远端缓存变更，缓存: {}，类型: {}，键: {}",
+                cacheChange.getCacheName(), cacheChange.getEventType(), cacheChange.getKey());
+        if (cacheChange.getEventType() == CacheChange.EventType.CLEAR) {
+            // CLEAR事件的key为清空后的命名空间代号，队列溢出降级产生的CLEAR事件为null
+            cache.clearLocal((Long) cacheChange.getKey());
+        } else {
+            cache.evictLocal(cacheChange.getKey());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (topic != null) {
+            topic.removeListener(listenerId);
+        }
+    }
+}
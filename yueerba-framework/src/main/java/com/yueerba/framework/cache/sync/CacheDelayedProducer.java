@@ -0,0 +1,294 @@
+package com.yueerba.framework.cache.sync;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.extra.spring.SpringUtil;
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.SerializationCodec;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.yueerba.framework.cache.config.properties.CacheProperties.CACHE_PREFIX;
+import static com.yueerba.framework.cache.config.properties.CacheProperties.KEY_SEGMENTATION;
+
+/**
+ * Description: 缓存变更生产者
+ * <p>
+ * 收集本节点产生的缓存变更事件，在时间窗口内合并去重后，通过Redis发布/订阅批量广播给其它节点，
+ * 其它节点收到后失效各自的Caffeine本地缓存。
+ * <p>
+ * 广播使用JDK序列化编解码器，保证原始key的类型（Long、String、SimpleKey等）在接收端保持一致。
+ * 发布失败的批次按退避时间重试，重试用尽后把受影响的缓存降级为整体清空，随下次发送发出，不会丢失失效。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
+public class CacheDelayedProducer {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 当前节点ID，每次启动生成
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 待发送的变更事件
+     */
+    private final Queue<CacheChange> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 待发送事件数量
+     */
+    private final AtomicInteger pendingSize = new AtomicInteger();
+
+    /**
+     * 队列溢出的缓存名称，下次发送时降级为整体清空
+     */
+    private final Set<String> overflowCacheNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 是否已提交了一次立即发送
+     */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * 发送调度线程
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 广播频道
+     */
+    private RTopic topic;
+
+    /**
+     * 广播频道名
+     */
+    private String topicName;
+
+    /**
+     * 发布延迟：事件产生到消息发布的耗时
+     */
+    private Timer publishLag;
+
+    /**
+     * 发布失败次数
+     */
+    private Counter publishFailures;
+
+    @PostConstruct
+    public void init() {
+        CacheProperties.Sync sync = cacheProperties.getSync();
+        this.topicName = StrUtil.isNotBlank(sync.getTopic()) ? sync.getTopic()
+                : new StringJoiner(KEY_SEGMENTATION)
+                .add(SpringUtil.getApplicationName())
+                .add(CACHE_PREFIX)
+                .add("sync").toString();
+        this.publishLag = Timer.builder("cache.sync.publish.lag")
+                .description("缓存失效事件从产生到发布的延迟")
+                .register(meterRegistry);
+        this.publishFailures = Counter.builder("cache.sync.publish.failures")
+                .description("缓存失效消息发布失败次数")
+                .register(meterRegistry);
+
+        if (!sync.isEnabled()) {
+            log.info("跨节点缓存失效广播未开启");
+            return;
+        }
+
+        this.topic = redissonClient.getTopic(topicName, new SerializationCodec());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-sync-producer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                sync.getFlushInterval(), sync.getFlushInterval(), TimeUnit.MILLISECONDS);
+        log.info("跨节点缓存失效广播已开启，节点ID: {}，频道: {}", nodeId, topicName);
+    }
+
+    /**
+     * 提交一个缓存变更事件，事件会在时间窗口内与其它事件合并后发送。
+     *
+     * @param cacheChange 缓存变更事件
+     */
+    public void produce(CacheChange cacheChange) {
+        if (topic == null) {
+            return;
+        }
+
+        CacheProperties.Sync sync = cacheProperties.getSync();
+        if (pendingSize.get() >= sync.getMaxPending()) {
+            // 队列已满时不再逐条记录，发送时降级为清空整个缓存，保证不丢失失效
+            overflowCacheNames.add(cacheChange.getCacheName());
+            return;
+        }
+
+        pending.offer(cacheChange);
+        if (pendingSize.incrementAndGet() >= sync.getMaxBatchSize() && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 获取当前节点ID
+     *
+     * @return 节点ID
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 获取广播频道名
+     *
+     * @return 频道名
+     */
+    public String getTopicName() {
+        return topicName;
+    }
+
+    /**
+     * 发送所有待发送的事件，发送失败只记录日志，避免调度线程退出。
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("发送缓存失效消息失败", e);
+        }
+    }
+
+    /**
+     * 取出待发送事件，按缓存名称和key合并去重后分批发布。
+     */
+    private void flush() {
+        flushRequested.set(false);
+        int maxBatchSize = cacheProperties.getSync().getMaxBatchSize();
+
+        // 溢出的缓存整体清空，先于普通事件发送
+        if (!overflowCacheNames.isEmpty()) {
+            List<CacheChange> clears = new ArrayList<>();
+            for (Iterator<String> it = overflowCacheNames.iterator(); it.hasNext(); ) {
+                clears.add(new CacheChange(CacheChange.EventType.CLEAR, it.next(), null));
+                it.remove();
+            }
+            publish(clears);
+        }
+
+        while (!pending.isEmpty()) {
+            // 同一个缓存的同一个key只保留一条，出现CLEAR后该缓存的key事件全部丢弃，只发送最后一次CLEAR
+            Map<String, Map<Object, CacheChange>> merged = new LinkedHashMap<>();
+            Map<String, CacheChange> clears = new HashMap<>();
+            int drained = 0;
+            CacheChange change;
+            while (drained < maxBatchSize && (change = pending.poll()) != null) {
+                drained++;
+                Map<Object, CacheChange> changes = merged.computeIfAbsent(change.getCacheName(), k -> new LinkedHashMap<>());
+                if (change.getEventType() == CacheChange.EventType.CLEAR) {
+                    changes.clear();
+                    clears.put(change.getCacheName(), change);
+                } else if (!clears.containsKey(change.getCacheName())) {
+                    changes.putIfAbsent(change.getKey(), change);
+                }
+            }
+            pendingSize.addAndGet(-drained);
+
+            List<CacheChange> batch = new ArrayList<>(drained);
+            merged.forEach((cacheName, changes) -> {
+                CacheChange clear = clears.get(cacheName);
+                if (clear != null) {
+                    batch.add(clear);
+                } else {
+                    batch.addAll(changes.values());
+                }
+            });
+            publish(batch);
+        }
+    }
+
+    /**
+     * 发布一批变更事件。
+     *
+     * @param changes 变更事件
+     */
+    private void publish(List<CacheChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long oldest = changes.stream().mapToLong(CacheChange::getCreateTime).min().orElse(now);
+        publishLag.record(Math.max(0, now - oldest), TimeUnit.MILLISECONDS);
+        publish(changes, 0);
+    }
+
+    /**
+     * 发布一批变更事件，失败时在调度线程中按退避时间重试。
+     *
+     * @param changes 变更事件
+     * @param attempt 已重试次数
+     */
+    private void publish(List<CacheChange> changes, int attempt) {
+        CacheChangeMessage message = new CacheChangeMessage(nodeId, System.currentTimeMillis(), changes);
+        topic.publishAsync(message).whenComplete((receivers, e) -> {
+            if (e == null) {
+                log.debug("发布缓存失效消息，事件数: {}，接收节点数: {}", changes.size(), receivers);
+                return;
+            }
+            publishFailures.increment();
+            CacheProperties.Sync sync = cacheProperties.getSync();
+            if (attempt < sync.getPublishRetries()) {
+                long delay = sync.getPublishRetryBackoff() << attempt;
+                log.warn("发布缓存失效消息失败，{}ms后第{}次重试，事件数: {}", delay, attempt + 1, changes.size(), e);
+                try {
+                    scheduler.schedule(() -> publish(changes, attempt + 1), delay, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (RejectedExecutionException rejected) {
+                    log.error("应用关闭中，放弃重试发布缓存失效消息，事件数: {}", changes.size());
+                    return;
+                }
+            }
+            // 重试用尽，受影响的缓存降级为整体清空，随下次发送先于普通事件发出
+            changes.forEach(change -> overflowCacheNames.add(change.getCacheName()));
+            log.error("发布缓存失效消息重试{}次后仍失败，降级为清空受影响的缓存，事件数: {}",
+                    attempt, changes.size(), e);
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (scheduler == null) {
+            return;
+        }
+        // 停机前把剩余事件发送出去
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+}
@@ -0,0 +1,295 @@
+package com.yueerba.framework.cache.sync;
+
+import com.yueerba.framework.cache.manager.custom.RedisCaffeineCache;
+import io.lettuce.core.*;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: 客户端缓存失效跟踪连接
+ * <p>
+ * 使用一条开启了RESP3 CLIENT TRACKING的Lettuce连接读写TRACKING模式缓存的单个key，
+ * Redis记住本连接读过的key，被任意客户端修改后向本连接推送失效消息，按key前缀分发给对应缓存失效本地缓存。
+ * 开启NOLOOP，本连接自己的写入不会推送给自己。
+ * <p>
+ * 失效消息与读取结果之间存在竞争：读到旧值后、回填本地缓存前，失效消息可能已经处理完毕。
+ * 因此按key的hash分段记录失效次数（见{@link InvalidationStamps}），回填前后比较，期间有失效则放弃回填。
+ * 断线期间的失效消息会丢失，重连后重新开启跟踪并清空所有TRACKING模式缓存的本地缓存。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+public class ClientTrackingConnection {
+
+    /**
+     * Redis推送的失效消息类型
+     */
+    private static final String INVALIDATE = "invalidate";
+
+    /**
+     * 连接地址，集群模式下为null，表示不可用
+     */
+    private final RedisURI uri;
+
+    /**
+     * 已注册的缓存，key为缓存的key前缀
+     */
+    private final Map<String, RedisCaffeineCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 各分段的失效次数
+     */
+    private final InvalidationStamps invalidations = new InvalidationStamps();
+
+    private RedisClient client;
+
+    private volatile StatefulRedisConnection<byte[], byte[]> connection;
+
+    public ClientTrackingConnection(RedisURI uri) {
+        this.uri = uri;
+    }
+
+    /**
+     * 注册缓存，第一次注册时建立连接并开启跟踪。
+     *
+     * @param cache     缓存实例
+     * @param keyPrefix 缓存所有key共同的前缀（不含命名空间代号）
+     * @return 是否注册成功，不可用或连接失败时返回false，缓存应退回应用层广播
+     */
+    public boolean register(RedisCaffeineCache cache, String keyPrefix) {
+        if (uri == null) {
+            log.warn("集群模式不支持客户端缓存失效跟踪，缓存: {}退回广播模式", cache.getName());
+            return false;
+        }
+        try {
+            connect();
+        } catch (RedisException e) {
+            log.warn("建立客户端缓存失效跟踪连接失败，缓存: {}退回广播模式", cache.getName(), e);
+            return false;
+        }
+        caches.put(keyPrefix, cache);
+        log.info("缓存: {}使用客户端缓存失效跟踪，key前缀: {}", cache.getName(), keyPrefix);
+        return true;
+    }
+
+    private synchronized void connect() {
+        if (connection != null) {
+            return;
+        }
+        RedisClient client = RedisClient.create(uri);
+        client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+        try {
+            StatefulRedisConnection<byte[], byte[]> connection = client.connect(ByteArrayCodec.INSTANCE);
+            connection.addListener(this::onPushMessage);
+            connection.sync().clientTracking(TrackingArgs.Builder.enabled().noloop());
+            client.addListener(new ReconnectListener());
+            this.client = client;
+            this.connection = connection;
+        } catch (RedisException e) {
+            client.shutdown();
+            throw e;
+        }
+    }
+
+    /**
+     * 读取一个key，读取后Redis开始跟踪该key。
+     *
+     * @param rawKey 完整缓存key的字节
+     * @return 值的字节，不存在时为null
+     */
+    public byte[] get(byte[] rawKey) {
+        return connection.sync().get(rawKey);
+    }
+
+    /**
+     * 异步读取一个key，读取后Redis开始跟踪该key。
+     *
+     * @param rawKey 完整缓存key的字节
+     * @return 值的字节，不存在时为null
+     */
+    public CompletableFuture<byte[]> getAsync(byte[] rawKey) {
+        return connection.async().get(rawKey).toCompletableFuture();
+    }
+
+    /**
+     * 一次MGET读取多个key，读取后Redis开始跟踪这些key。
+     *
+     * @param rawKeys 完整缓存key的字节
+     * @return 与rawKeys顺序一致的值，不存在的key为null
+     */
+    public CompletableFuture<List<byte[]>> mget(byte[][] rawKeys) {
+        return connection.async().mget(rawKeys).toCompletableFuture().thenApply(keyValues -> {
+            List<byte[]> values = new ArrayList<>(keyValues.size());
+            keyValues.forEach(keyValue -> values.add(keyValue.getValueOrElse(null)));
+            return values;
+        });
+    }
+
+    /**
+     * 写入一个key并紧接着读取一次。
+     * <p>
+     * Redis在key被修改时会把它从跟踪表中移除，写入后的GET让本连接重新跟踪该key；
+     * 两条命令连续发送，只等待一次往返。
+     *
+     * @param rawKey    完整缓存key的字节
+     * @param rawValue  值的字节
+     * @param ttlMillis 过期时间（毫秒）
+     * @return 读到的是否仍是本次写入的值，为false时说明期间有其它客户端写入，不应回填本地缓存
+     */
+    public boolean set(byte[] rawKey, byte[] rawValue, long ttlMillis) {
+        RedisFuture<String> written = connection.async().set(rawKey, rawValue, SetArgs.Builder.px(ttlMillis));
+        RedisFuture<byte[]> current = connection.async().get(rawKey);
+        await(written);
+        return Arrays.equals(rawValue, await(current));
+    }
+
+    /**
+     * 删除一个key。
+     *
+     * @param rawKey 完整缓存key的字节
+     */
+    public void del(byte[] rawKey) {
+        connection.sync().del(rawKey);
+    }
+
+    /**
+     * 读取key所在分段当前的失效次数，在读取Redis之前调用。
+     *
+     * @param rawKey 完整缓存key的字节
+     * @return 失效次数
+     */
+    public long stamp(byte[] rawKey) {
+        return invalidations.stamp(Arrays.hashCode(rawKey));
+    }
+
+    /**
+     * 判断key所在分段在{@link #stamp(byte[])}之后是否处理过失效消息。
+     *
+     * @param rawKey 完整缓存key的字节
+     * @param stamp  读取Redis之前的失效次数
+     * @return 是否有失效
+     */
+    public boolean invalidatedSince(byte[] rawKey, long stamp) {
+        return invalidations.invalidatedSince(Arrays.hashCode(rawKey), stamp);
+    }
+
+    /**
+     * 记录本节点对key的一次写入或删除。本连接开启了NOLOOP，本节点的修改不会推送失效消息，
+     * 由缓存在修改后调用，让读取期间被修改的回填撤销。
+     *
+     * @param rawKey 完整缓存key的字节
+     */
+    public void invalidate(byte[] rawKey) {
+        invalidations.invalidate(Arrays.hashCode(rawKey));
+    }
+
+    /**
+     * 让所有分段正在进行的回填撤销，本节点清空缓存时调用。
+     */
+    public void invalidateAllStamps() {
+        invalidations.invalidateAll();
+    }
+
+    public synchronized void close() {
+        if (connection != null) {
+            connection.close();
+            client.shutdown();
+        }
+    }
+
+    private <T> T await(RedisFuture<T> future) {
+        return LettuceFutures.awaitOrCancel(future, uri.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 处理Redis推送的失效消息：key列表为null表示Redis执行了FLUSHALL/FLUSHDB，清空所有本地缓存。
+     *
+     * @param message 推送消息
+     */
+    private void onPushMessage(PushMessage message) {
+        if (!INVALIDATE.equals(message.getType())) {
+            return;
+        }
+
+        List<Object> content = message.getContent(ClientTrackingConnection::toBytes);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (!(keys instanceof List)) {
+            invalidateAll();
+            return;
+        }
+
+        for (Object key : (List<?>) keys) {
+            byte[] rawKey = (byte[]) key;
+            // 先增加失效次数再失效本地缓存，与回填方“先写入再检查”的顺序配合
+            invalidations.invalidate(Arrays.hashCode(rawKey));
+            String redisKey = new String(rawKey, StandardCharsets.UTF_8);
+            caches.forEach((keyPrefix, cache) -> {
+                if (redisKey.startsWith(keyPrefix)) {
+                    cache.onTrackingInvalidate(redisKey);
+                }
+            });
+        }
+    }
+
+    /**
+     * 让所有分段的读取放弃回填，并清空所有注册缓存的本地缓存。
+     */
+    private void invalidateAll() {
+        invalidations.invalidateAll();
+        caches.values().forEach(RedisCaffeineCache::clearLocal);
+    }
+
+    private static Object toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Description: 断线后失效消息会丢失，重连后重新开启跟踪并清空本地缓存
+     * Author: yueerba
+     * Date: 2026/10/16
+     */
+    private class ReconnectListener implements RedisConnectionStateListener {
+
+        @Override
+        public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress address) {
+            if (handler != connection) {
+                return;
+            }
+            // 在I/O线程中回调，不能同步等待命令结果
+            connection.async().clientTracking(TrackingArgs.Builder.enabled().noloop()).whenComplete((result, e) -> {
+                if (e != null) {
+                    log.error("重连后重新开启客户端缓存失效跟踪失败", e);
+                }
+                invalidateAll();
+                log.info("客户端缓存失效跟踪连接已重连，清空本地缓存，缓存数: {}", caches.size());
+            });
+        }
+
+        @Override
+        public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+            if (handler == connection) {
+                invalidateAll();
+            }
+        }
+
+        @Override
+        public void onRedisExceptionCaught(RedisChannelHandler<?, ?> handler, Throwable cause) {
+        }
+    }
+}
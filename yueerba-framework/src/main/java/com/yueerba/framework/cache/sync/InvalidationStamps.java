@@ -0,0 +1,65 @@
+package com.yueerba.framework.cache.sync;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Description: 按key的hash分段记录的失效次数
+ * <p>
+ * 读取Redis与失效本地缓存之间存在竞争：读到旧值后、回填本地缓存前，失效可能已经处理完毕，回填会留下旧值。
+ * 回填方在读取Redis之前记录key所在分段的次数，写入本地缓存后再比较，期间有失效则撤销回填；
+ * 失效方先增加次数再失效本地缓存，两者无论怎样交错都不会留下旧值。同一分段其它key的失效只会让回填被多撤销一次。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+public class InvalidationStamps {
+
+    /**
+     * 分段数，必须为2的幂
+     */
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+
+    /**
+     * 读取hash所在分段当前的失效次数，在读取Redis之前调用。
+     *
+     * @param hash key的hash
+     * @return 失效次数
+     */
+    public long stamp(int hash) {
+        return invalidations.get(stripe(hash));
+    }
+
+    /**
+     * 判断hash所在分段在{@link #stamp(int)}之后是否有过失效。
+     *
+     * @param hash  key的hash
+     * @param stamp 读取Redis之前的失效次数
+     * @return 是否有失效
+     */
+    public boolean invalidatedSince(int hash, long stamp) {
+        return invalidations.get(stripe(hash)) != stamp;
+    }
+
+    /**
+     * 记录一次失效，在失效本地缓存之前调用。
+     *
+     * @param hash key的hash
+     */
+    public void invalidate(int hash) {
+        invalidations.incrementAndGet(stripe(hash));
+    }
+
+    /**
+     * 让所有分段正在进行的回填撤销，在清空本地缓存之前调用。
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(int hash) {
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
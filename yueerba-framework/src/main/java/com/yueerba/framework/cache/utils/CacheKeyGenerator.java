@@ -1,4 +1,200 @@
 package com.yueerba.framework.cache.utils;
 
-public class CacheKeyGenerator {
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.yueerba.framework.cache.config.properties.CacheProperties.KEY_SEGMENTATION;
+
+/**
+ * Description: 缓存key生成器
+ * <p>
+ * 作为Spring Cache的{@link KeyGenerator}：无参方法使用{@link SimpleKey#EMPTY}，单参数方法直接使用参数本身，
+ * 与默认生成器保持一致；多参数方法按{@link com.yueerba.framework.cache.config.properties.CacheProperties#KEY_SEGMENTATION}
+ * 拼接为字符串，拼接缓冲区按该方法上次生成的key长度预分配。为保证不同的参数不会拼出相同的key：
+ * <ul>
+ *     <li>参数文本中的分隔符、反斜杠、逗号和方括号前加反斜杠转义；</li>
+ *     <li>null参数写为{@code \N}，不会与字符串"null"或"\N"（转义后为{@code \\N}）相同；</li>
+ *     <li>数组参数按内容展开为{@code [元素,元素]}，嵌套数组递归展开。</li>
+ * </ul>
+ * <p>
+ * 同时提供按方法缓存并编译为字节码的SpEL表达式，以及由预先编码的前缀字节直接生成Redis key字节的工具方法，
+ * 热路径上生成key时不再产生中间字符串。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Component
+public class CacheKeyGenerator implements KeyGenerator {
+
+    /**
+     * 多参数key中的转义字符
+     */
+    private static final char ESCAPE = '\\';
+
+    /**
+     * 表达式多次解释执行后编译为字节码，编译失败或类型变化时退回解释执行
+     */
+    private final SpelExpressionParser parser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, CacheKeyGenerator.class.getClassLoader()));
+
+    /**
+     * 各方法已解析的表达式
+     */
+    private final Map<Method, Map<String, Expression>> expressions = new ConcurrentHashMap<>();
+
+    /**
+     * 各多参数方法上次生成的key长度
+     */
+    private final Map<Method, int[]> keyLengths = new ConcurrentHashMap<>();
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        if (params.length == 0) {
+            return SimpleKey.EMPTY;
+        }
+        if (params.length == 1 && params[0] != null && !params[0].getClass().isArray()) {
+            return params[0];
+        }
+
+        int[] lastLength = keyLengths.computeIfAbsent(method, m -> new int[]{16 * params.length});
+        StringBuilder key = new StringBuilder(lastLength[0]);
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                key.append(KEY_SEGMENTATION);
+            }
+            appendParam(key, params[i]);
+        }
+        lastLength[0] = key.length();
+        return key.toString();
+    }
+
+    /**
+     * 追加一个参数：null写为转义的N，数组按内容展开，其它参数转义后追加。
+     *
+     * @param key   拼接缓冲区
+     * @param param 参数
+     */
+    private static void appendParam(StringBuilder key, Object param) {
+        if (param == null) {
+            key.append(ESCAPE).append('N');
+        } else if (param.getClass().isArray()) {
+            key.append('[');
+            int length = Array.getLength(param);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    key.append(',');
+                }
+                appendParam(key, Array.get(param, i));
+            }
+            key.append(']');
+        } else {
+            String text = param.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == ESCAPE || c == ',' || c == '[' || c == ']' || KEY_SEGMENTATION.indexOf(c) >= 0) {
+                    key.append(ESCAPE);
+                }
+                key.append(c);
+            }
+        }
+    }
+
+    /**
+     * 获取方法上的SpEL表达式，同一方法的同一表达式只解析一次。
+     *
+     * @param method     方法
+     * @param expression 表达式
+     * @return 解析后的表达式
+     */
+    public Expression expression(Method method, String expression) {
+        return expressions.computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+                .computeIfAbsent(expression, parser::parseExpression);
+    }
+
+    /**
+     * 编码key前缀，结果由调用方缓存。
+     *
+     * @param prefix key前缀
+     * @return UTF-8编码的前缀
+     */
+    public static byte[] prefixBytes(String prefix) {
+        return prefix.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 生成完整的缓存key字符串。
+     *
+     * @param prefix key前缀
+     * @param key    原始key
+     * @return 完整的缓存key
+     */
+    public static String cacheKey(String prefix, Object key) {
+        return prefix.concat(key instanceof String ? (String) key : key.toString());
+    }
+
+    /**
+     * 由编码好的前缀直接生成完整缓存key的UTF-8字节，与{@link #cacheKey(String, Object)}的编码结果一致。
+     * <p>
+     * 整数key直接写入数字，ASCII字符串逐字符写入，只分配结果数组；含非ASCII字符时退回标准编码。
+     *
+     * @param prefix 编码好的前缀
+     * @param key    原始key
+     * @return 完整缓存key的字节
+     */
+    public static byte[] rawKey(byte[] prefix, Object key) {
+        if ((key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte)
+                && ((Number) key).longValue() != Long.MIN_VALUE) {
+            return rawKey(prefix, ((Number) key).longValue());
+        }
+
+        String text = key instanceof String ? (String) key : key.toString();
+        int length = text.length();
+        byte[] raw = new byte[prefix.length + length];
+        System.arraycopy(prefix, 0, raw, 0, prefix.length);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                return concat(prefix, text.getBytes(StandardCharsets.UTF_8));
+            }
+            raw[prefix.length + i] = (byte) c;
+        }
+        return raw;
+    }
+
+    private static byte[] rawKey(byte[] prefix, long value) {
+        boolean negative = value < 0;
+        long remaining = negative ? -value : value;
+        int digits = 1;
+        for (long n = remaining; n >= 10; n /= 10) {
+            digits++;
+        }
+
+        byte[] raw = new byte[prefix.length + digits + (negative ? 1 : 0)];
+        System.arraycopy(prefix, 0, raw, 0, prefix.length);
+        if (negative) {
+            raw[prefix.length] = '-';
+        }
+        for (int i = raw.length - 1; i >= raw.length - digits; i--) {
+            raw[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return raw;
+    }
+
+    private static byte[] concat(byte[] prefix, byte[] key) {
+        byte[] raw = new byte[prefix.length + key.length];
+        System.arraycopy(prefix, 0, raw, 0, prefix.length);
+        System.arraycopy(key, 0, raw, prefix.length, key.length);
+        return raw;
+    }
 }
@@ -1,4 +1,161 @@
 package com.yueerba.framework.cache.utils;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Description: 缓存工具类
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
 public class CacheUtils {
+
+    /**
+     * 对象头大小（字节，按开启压缩指针估算）
+     */
+    private static final int OBJECT_HEADER = 16;
+
+    /**
+     * 引用大小（字节）
+     */
+    private static final int REFERENCE = 4;
+
+    /**
+     * 估算时最多展开的对象层数，超出部分只计引用
+     */
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * 单个对象最多展开的集合元素数量，超出部分按已展开元素的平均大小推算
+     */
+    private static final int MAX_ELEMENTS = 256;
+
+    /**
+     * 各类型需要展开的实例字段
+     */
+    private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+    private CacheUtils() {
+    }
+
+    /**
+     * 估算对象在堆上占用的字节数。
+     * <p>
+     * 结果只用于本地缓存按权重淘汰，不追求精确：字符串、数组、集合、Map按内容计算，
+     * 普通对象通过反射展开字段，同一对象只计算一次，层数和集合元素数量有上限以控制开销。
+     *
+     * @param value 对象
+     * @return 估算的字节数
+     */
+    public static long estimateSize(Object value) {
+        return estimate(value, new IdentityHashMap<>(), 0);
+    }
+
+    private static long estimate(Object value, Map<Object, Boolean> visited, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return OBJECT_HEADER + 24 + ((String) value).length() * 2L;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return OBJECT_HEADER + 8;
+        }
+        if (value instanceof Enum || value instanceof Class) {
+            // 枚举和类对象是共享的单例，不计入条目大小
+            return 0;
+        }
+        if (value instanceof Date || value instanceof Temporal) {
+            return OBJECT_HEADER + 16;
+        }
+        if (depth >= MAX_DEPTH || visited.put(value, Boolean.TRUE) != null) {
+            return REFERENCE;
+        }
+
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            return estimateArray(value, type.getComponentType(), visited, depth);
+        }
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            return OBJECT_HEADER + 16 + estimateElements(collection, collection.size(), visited, depth);
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            // 每个Entry节点约32字节
+            return OBJECT_HEADER + 32 + map.size() * 32L
+                    + estimateElements(map.keySet(), map.size(), visited, depth)
+                    + estimateElements(map.values(), map.size(), visited, depth);
+        }
+
+        long size = OBJECT_HEADER;
+        for (Field field : fields(type)) {
+            if (field.getType().isPrimitive()) {
+                size += 8;
+                continue;
+            }
+            size += REFERENCE;
+            try {
+                size += estimate(field.get(value), visited, depth + 1);
+            } catch (IllegalAccessException e) {
+                // 无法访问的字段只计引用
+            }
+        }
+        return size;
+    }
+
+    private static long estimateArray(Object array, Class<?> componentType, Map<Object, Boolean> visited, int depth) {
+        int length = Array.getLength(array);
+        if (componentType.isPrimitive()) {
+            int elementSize = componentType == long.class || componentType == double.class ? 8
+                    : componentType == int.class || componentType == float.class ? 4
+                    : componentType == short.class || componentType == char.class ? 2 : 1;
+            return OBJECT_HEADER + (long) length * elementSize;
+        }
+        return OBJECT_HEADER + (long) length * REFERENCE
+                + estimateElements(Arrays.asList((Object[]) array), length, visited, depth);
+    }
+
+    /**
+     * 估算元素总大小，元素过多时按前{@link #MAX_ELEMENTS}个的平均值推算。
+     */
+    private static long estimateElements(Iterable<?> elements, int count, Map<Object, Boolean> visited, int depth) {
+        long size = 0;
+        int sampled = 0;
+        for (Object element : elements) {
+            if (sampled == MAX_ELEMENTS) {
+                break;
+            }
+            size += REFERENCE + estimate(element, visited, depth + 1);
+            sampled++;
+        }
+        return sampled == 0 || sampled == count ? size : size / sampled * count;
+    }
+
+    /**
+     * 获取类型及其父类的所有实例字段，无法设置为可访问的字段（如JDK模块内部字段）被忽略。
+     */
+    private static Field[] fields(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, clazz -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    } catch (RuntimeException e) {
+                        // 模块系统不允许访问时跳过该字段
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        });
+    }
 }
@@ -0,0 +1,202 @@
+package com.yueerba.framework.cache.writebehind;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Description: 单个缓存的写后缓冲区
+ * <p>
+ * 每个key只保留最后一次写入的存储值，同一key在写入Redis前的多次写入合并为一次。
+ * 写入Redis时先取出当前的值，写入成功后只移除未被再次写入的key，写入期间的读取仍能从缓冲区读到最新值，
+ * 写入失败的值留在缓冲区等待下次写入；写入成功后再通知其它节点失效本地缓存，通知失败不影响已写入的值，也不会重新写入。
+ * <p>
+ * 写入与{@link #discard(Object)}等操作互斥，删除key时等待正在进行的写入完成，已删除的key不会被写回Redis。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+public class WriteBehindBuffer {
+
+    private final String cacheName;
+
+    private final int maxPending;
+
+    private final int flushBatchSize;
+
+    /**
+     * 批量写入Redis，参数为原始key到存储值的映射
+     */
+    private final Consumer<Map<Object, Object>> writer;
+
+    /**
+     * 写入Redis成功后调用，参数为已写入的原始key
+     */
+    private final Consumer<Set<Object>> written;
+
+    /**
+     * 达到批量大小时提交写入的线程池
+     */
+    private final Executor flushExecutor;
+
+    /**
+     * 等待写入的存储值，key为原始key
+     */
+    private final Map<Object, Object> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 是否已提交按数量触发的写入
+     */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Counter coalesced;
+
+    private final Counter rejected;
+
+    private final Counter flushed;
+
+    private final Counter failures;
+
+    WriteBehindBuffer(String cacheName, int maxPending, int flushBatchSize, Consumer<Map<Object, Object>> writer,
+                      Consumer<Set<Object>> written, Executor flushExecutor, MeterRegistry meterRegistry) {
+        this.cacheName = cacheName;
+        this.maxPending = maxPending;
+        this.flushBatchSize = flushBatchSize;
+        this.writer = writer;
+        this.written = written;
+        this.flushExecutor = flushExecutor;
+
+        Gauge.builder("cache.write.behind.pending", pending, Map::size)
+                .description("等待写入Redis的key数")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.coalesced = counter("cache.write.behind.coalesced", "写入Redis前被同一key的新值覆盖的写入数", meterRegistry);
+        this.rejected = counter("cache.write.behind.rejected", "缓冲区已满改为同步写入Redis的写入数", meterRegistry);
+        this.flushed = counter("cache.write.behind.flushed", "批量写入Redis的key数", meterRegistry);
+        this.failures = counter("cache.write.behind.failures", "批量写入Redis失败的次数", meterRegistry);
+    }
+
+    /**
+     * 放入一次写入，同一key已有等待写入的值时直接覆盖。
+     *
+     * @param key        原始key
+     * @param storeValue 存储值
+     * @return 是否放入，缓冲区已满且key不在缓冲区中时返回false，调用方应同步写入Redis
+     */
+    public boolean offer(Object key, Object storeValue) {
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            rejected.increment();
+            return false;
+        }
+        if (pending.put(key, storeValue) != null) {
+            coalesced.increment();
+        }
+        if (pending.size() >= flushBatchSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                // 关闭过程中由关闭时的写入处理
+                flushScheduled.set(false);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取等待写入的存储值，比Redis中的值新。
+     *
+     * @param key 原始key
+     * @return 存储值，没有等待写入的值时返回null
+     */
+    public Object get(Object key) {
+        return pending.isEmpty() ? null : pending.get(key);
+    }
+
+    /**
+     * 丢弃key等待写入的值，key将被同步删除或覆盖。
+     *
+     * @param key 原始key
+     */
+    public synchronized void discard(Object key) {
+        pending.remove(key);
+    }
+
+    /**
+     * 丢弃多个key等待写入的值。
+     *
+     * @param keys 原始key
+     */
+    public synchronized void discardAll(Collection<?> keys) {
+        keys.forEach(pending::remove);
+    }
+
+    /**
+     * 丢弃所有等待写入的值，缓存被清空时使用。
+     */
+    public synchronized void clear() {
+        pending.clear();
+    }
+
+    /**
+     * 将当前等待写入的值按批量大小分批写入Redis，写入期间新放入的值留到下次写入。
+     */
+    public synchronized void flush() {
+        int rounds = pending.size() / flushBatchSize + 1;
+        for (int round = 0; round < rounds && !pending.isEmpty(); round++) {
+            Map<Object, Object> writes = new HashMap<>(Math.min(pending.size(), flushBatchSize) * 4 / 3 + 1);
+            Iterator<Map.Entry<Object, Object>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext() && writes.size() < flushBatchSize) {
+                Map.Entry<Object, Object> entry = iterator.next();
+                writes.put(entry.getKey(), entry.getValue());
+            }
+
+            try {
+                writer.accept(writes);
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.error("写后缓冲区写入Redis失败，缓存: {}，数量: {}，等待下次写入", cacheName, writes.size(), e);
+                return;
+            }
+            // 只移除写入期间没有被再次写入的key
+            writes.forEach(pending::remove);
+            flushed.increment(writes.size());
+
+            try {
+                written.accept(writes.keySet());
+            } catch (RuntimeException e) {
+                log.error("写后缓冲区已写入Redis，通知其它节点失效本地缓存失败，缓存: {}，数量: {}", cacheName, writes.size(), e);
+            }
+        }
+    }
+
+    /**
+     * 等待写入的key数。
+     *
+     * @return key数
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    private Counter counter(String name, String description, MeterRegistry meterRegistry) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,116 @@
+package com.yueerba.framework.cache.writebehind;
+
+import com.yueerba.framework.cache.config.properties.CacheProperties;
+import com.yueerba.framework.cache.sync.CacheDelayedProducer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Description: 写后缓冲区管理
+ * <p>
+ * 为开启写后模式的缓存创建{@link WriteBehindBuffer}，按flushInterval定时写入所有缓冲区，
+ * 等待写入的key数达到flushBatchSize时立即写入。应用关闭时停止定时写入，再把所有缓冲区剩余的值写入Redis。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+@Slf4j
+@Component
+public class WriteBehindManager {
+
+    @Resource
+    private CacheProperties cacheProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 关闭时通过Redisson写入剩余的值，依赖它保证Redisson在本组件之后销毁
+     */
+    @Resource
+    private RedissonClient redissonClient;
+
+    /**
+     * 关闭时写入的值需要广播给其它节点，依赖它保证广播生产者在本组件之后销毁
+     */
+    @Resource
+    private CacheDelayedProducer cacheDelayedProducer;
+
+    /**
+     * 各缓存的写后缓冲区，key为缓存名称
+     */
+    private final Map<String, WriteBehindBuffer> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * 写入调度线程
+     */
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        CacheProperties.WriteBehind config = cacheProperties.getWriteBehind();
+        if (config.getCaches().isEmpty()) {
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushAll,
+                config.getFlushInterval(), config.getFlushInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 为缓存创建写后缓冲区。
+     *
+     * @param cacheName 缓存名称
+     * @param writer    批量写入Redis，参数为原始key到存储值的映射，失败时抛出异常
+     * @param written   写入Redis成功后调用，参数为已写入的原始key
+     * @return 缓冲区，未对该缓存开启写后模式时返回null
+     */
+    public WriteBehindBuffer create(String cacheName, Consumer<Map<Object, Object>> writer, Consumer<Set<Object>> written) {
+        CacheProperties.WriteBehind config = cacheProperties.getWriteBehind();
+        if (!config.getCaches().contains(cacheName)) {
+            return null;
+        }
+        return buffers.computeIfAbsent(cacheName, name -> new WriteBehindBuffer(name, config.getMaxPending(),
+                config.getFlushBatchSize(), writer, written, scheduler, meterRegistry));
+    }
+
+    /**
+     * 写入所有缓冲区，单个缓存失败不影响其它缓存。
+     */
+    private void flushAll() {
+        buffers.values().forEach(WriteBehindBuffer::flush);
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+
+        flushAll();
+        buffers.forEach((cacheName, buffer) -> {
+            if (buffer.size() > 0) {
+                log.error("关闭时写后缓冲区未能全部写入Redis，缓存: {}，丢失数量: {}", cacheName, buffer.size());
+            }
+        });
+        log.info("写后缓冲区已在关闭前写入Redis，缓存数: {}", buffers.size());
+    }
+}
@@ -0,0 +1,245 @@
+package com.yueerba.framework.cache.sync;
+
+import com.yueerba.framework.cache.manager.custom.RedisCaffeineCache;
+import io.lettuce.core.KillArgs;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.embedded.RedisExecProvider;
+import redis.embedded.RedisServer;
+import redis.embedded.util.OS;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Description: 客户端缓存失效跟踪的集成测试
+ * <p>
+ * 需要RESP3和CLIENT TRACKING，embedded-redis自带的redis-server版本过低，使用本机安装的6.0以上版本：
+ * 通过系统属性redis.server或环境变量REDIS_SERVER指定可执行文件，未指定时在PATH中查找，找不到时跳过测试。
+ * Author: yueerba
+ * Date: 2026/10/16
+ */
+class ClientTrackingConnectionTest {
+
+    private static final String PREFIX = "test:users:";
+
+    private static final long WAIT_MILLIS = 5000;
+
+    private static RedisServer server;
+
+    private static RedisURI uri;
+
+    private static RedisClient externalClient;
+
+    private static StatefulRedisConnection<String, String> externalConnection;
+
+    private RedisCaffeineCache cache;
+
+    private ClientTrackingConnection tracking;
+
+    private RedisCommands<String, String> external;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        String executable = findRedisServer();
+        Assumptions.assumeTrue(executable != null, "未找到redis-server，跳过客户端缓存失效跟踪测试");
+        Assumptions.assumeTrue(majorVersion(executable) >= 6, "redis-server版本低于6.0，不支持CLIENT TRACKING");
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        RedisExecProvider provider = RedisExecProvider.defaultProvider()
+                .override(OS.UNIX, executable)
+                .override(OS.MAC_OS_X, executable);
+        server = RedisServer.builder()
+                .redisExecProvider(provider)
+                .port(port)
+                .setting("bind 127.0.0.1")
+                .build();
+        server.start();
+
+        uri = RedisURI.Builder.redis("127.0.0.1", port).withTimeout(Duration.ofSeconds(2)).build();
+        externalClient = RedisClient.create(uri);
+        externalConnection = externalClient.connect();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        if (externalConnection != null) {
+            externalConnection.close();
+            externalClient.shutdown();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @BeforeEach
+    void connect() {
+        external = externalConnection.sync();
+        external.flushall();
+        cache = mock(RedisCaffeineCache.class);
+        tracking = new ClientTrackingConnection(uri);
+        assertTrue(tracking.register(cache, PREFIX));
+    }
+
+    @AfterEach
+    void close() {
+        tracking.close();
+    }
+
+    @Test
+    void pushInvalidatesKeysUnderRegisteredPrefix() {
+        external.set(PREFIX + "1", "a");
+        external.set("test:orders:1", "b");
+        tracking.get(bytes(PREFIX + "1"));
+        tracking.get(bytes("test:orders:1"));
+
+        external.set(PREFIX + "1", "c");
+        external.set("test:orders:1", "d");
+
+        verify(cache, timeout(WAIT_MILLIS)).onTrackingInvalidate(PREFIX + "1");
+        verify(cache, after(200).never()).onTrackingInvalidate("test:orders:1");
+    }
+
+    @Test
+    void stampMovesWhenKeyIsModifiedAfterRead() {
+        byte[] rawKey = bytes(PREFIX + "1");
+        external.set(PREFIX + "1", "a");
+
+        long stamp = tracking.stamp(rawKey);
+        tracking.get(rawKey);
+        external.set(PREFIX + "1", "b");
+
+        verify(cache, timeout(WAIT_MILLIS)).onTrackingInvalidate(PREFIX + "1");
+        assertTrue(tracking.invalidatedSince(rawKey, stamp));
+    }
+
+    @Test
+    void stampUnchangedWithoutWrites() {
+        byte[] rawKey = bytes(PREFIX + "1");
+        external.set(PREFIX + "1", "a");
+
+        long stamp = tracking.stamp(rawKey);
+        tracking.get(rawKey);
+
+        verify(cache, after(200).never()).onTrackingInvalidate(anyString());
+        assertFalse(tracking.invalidatedSince(rawKey, stamp));
+    }
+
+    @Test
+    void ownWriteIsNotPushedButKeyIsTrackedAgain() {
+        byte[] rawKey = bytes(PREFIX + "1");
+        byte[] rawValue = bytes("a");
+
+        assertTrue(tracking.set(rawKey, rawValue, 60000));
+        assertArrayEquals(rawValue, tracking.get(rawKey));
+        verify(cache, after(200).never()).onTrackingInvalidate(anyString());
+
+        // SET之后的GET让本连接重新跟踪该key，其它客户端的写入仍会推送失效消息
+        external.set(PREFIX + "1", "b");
+        verify(cache, timeout(WAIT_MILLIS)).onTrackingInvalidate(PREFIX + "1");
+    }
+
+    @Test
+    void setReportsConcurrentWriteFromOtherClient() {
+        byte[] rawKey = bytes(PREFIX + "1");
+        assertTrue(tracking.set(rawKey, bytes("a"), 60000));
+        external.set(PREFIX + "1", "b");
+        assertArrayEquals(bytes("b"), tracking.get(rawKey));
+    }
+
+    @Test
+    void flushAllClearsLocalCachesAndMovesAllStamps() {
+        byte[] first = bytes(PREFIX + "1");
+        byte[] second = bytes(PREFIX + "2");
+        external.set(PREFIX + "1", "a");
+        tracking.get(first);
+
+        long firstStamp = tracking.stamp(first);
+        long secondStamp = tracking.stamp(second);
+        external.flushall();
+
+        verify(cache, timeout(WAIT_MILLIS)).clearLocal();
+        assertTrue(tracking.invalidatedSince(first, firstStamp));
+        assertTrue(tracking.invalidatedSince(second, secondStamp));
+    }
+
+    @Test
+    void reconnectClearsLocalCachesAndResumesTracking() {
+        byte[] rawKey = bytes(PREFIX + "1");
+        external.set(PREFIX + "1", "a");
+        tracking.get(rawKey);
+
+        // 断开外部连接以外的所有连接（包括跟踪连接），断线期间的失效消息会丢失
+        external.clientKill(KillArgs.Builder.typeNormal().skipme());
+
+        // 断线和重连后各清空一次
+        verify(cache, timeout(WAIT_MILLIS).atLeast(2)).clearLocal();
+        clearInvocations(cache);
+
+        assertArrayEquals(bytes("a"), tracking.get(rawKey));
+        external.set(PREFIX + "1", "b");
+        verify(cache, timeout(WAIT_MILLIS)).onTrackingInvalidate(PREFIX + "1");
+        verify(cache, never()).clearLocal();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String findRedisServer() {
+        String configured = System.getProperty("redis.server", System.getenv("REDIS_SERVER"));
+        if (configured != null && !configured.isEmpty()) {
+            return new File(configured).getAbsolutePath();
+        }
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return null;
+        }
+        for (String dir : path.split(File.pathSeparator)) {
+            File candidate = new File(dir, "redis-server");
+            if (candidate.isFile() && candidate.canExecute()) {
+                return candidate.getAbsolutePath();
+            }
+        }
+        return null;
+    }
+
+    private static int majorVersion(String executable) throws IOException {
+        Process process = new ProcessBuilder(executable, "--version").redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            Matcher matcher = Pattern.compile("v=(\\d+)\\.").matcher(line == null ? "" : line);
+            return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+        }
+    }
+}